@@ -0,0 +1,304 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * A computer player for a given difficulty. Easy plays a random valid move and
+ * Hard plays the highest-scoring move it can find. Given a LeaveTable, Hard
+ * plays the move with the highest equity instead, counting the value of the
+ * Tiles it keeps as well as its score, while there are Tiles left in the Bag,
+ * and exchanges Tiles when keeping the best of them is worth more than any
+ * play. Given a Simulator, Hard plays out its best few moves against guesses of
+ * the other player's Rack instead, while there are Tiles left in the Bag. Given
+ * an EndgameSolver, Hard searches ahead through both players' moves once the
+ * Bag is empty. Includes methods to choose a move, to set the LeaveTable,
+ * MoveCache, Simulator and EndgameSolver, to get the difficulty and time limit,
+ * and to return the player as a String.
+ *
+ * Given a MoveCache, the moves for a position are looked up before searching,
+ * and the moves from every search that finishes in time are stored.
+ *
+ * An AIPlayer can choose moves for many games at once, since the
+ * ParallelMoveGenerator can be searched from many threads.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class AIPlayer
+{
+	public static final String EASY = "Easy";
+	public static final String HARD = "Hard";
+
+	// How long the AI can search for on each difficulty, in milliseconds
+	// (0 for no limit)
+	public static final int EASY_TIME_LIMIT = 100;
+	public static final int HARD_TIME_LIMIT = 200;
+
+	private String difficulty;
+	private long timeLimit;
+	private ParallelMoveGenerator generator;
+	private AnagramIndex anagrams;
+	private LeaveTable leaves;
+	private MoveCache cache;
+	private Simulator simulator;
+	private EndgameSolver solver;
+
+	/**
+	 * Constructs an AIPlayer with the usual time limit for the difficulty
+	 *
+	 * @param difficulty EASY or HARD
+	 * @param generator the ParallelMoveGenerator to search with
+	 * @param anagrams the index of words for the first move
+	 */
+	public AIPlayer(String difficulty, ParallelMoveGenerator generator,
+			AnagramIndex anagrams)
+	{
+		this(difficulty, difficulty.equals(EASY) ? EASY_TIME_LIMIT
+				: HARD_TIME_LIMIT, generator, anagrams);
+	}
+
+	/**
+	 * Constructs an AIPlayer with the given time limit
+	 *
+	 * @param difficulty EASY or HARD
+	 * @param timeLimit how long to search for each move in milliseconds, or 0
+	 *            for no limit
+	 * @param generator the ParallelMoveGenerator to search with
+	 * @param anagrams the index of words for the first move
+	 */
+	public AIPlayer(String difficulty, long timeLimit,
+			ParallelMoveGenerator generator, AnagramIndex anagrams)
+	{
+		this.difficulty = difficulty;
+		this.timeLimit = timeLimit;
+		this.generator = generator;
+		this.anagrams = anagrams;
+	}
+
+	/**
+	 * Constructs a copy of the given AIPlayer that searches with its own
+	 * threads. The copy plays the same way and shares the LeaveTable and
+	 * MoveCache.
+	 *
+	 * @param other the AIPlayer to copy
+	 * @param generator the ParallelMoveGenerator to search with
+	 * @param simulator the Simulator to use if the other AIPlayer simulates
+	 * @param solver the EndgameSolver to use if the other AIPlayer searches
+	 *            the endgame
+	 */
+	public AIPlayer(AIPlayer other, ParallelMoveGenerator generator,
+			Simulator simulator, EndgameSolver solver)
+	{
+		this(other.difficulty, other.timeLimit, generator, other.anagrams);
+		leaves = other.leaves;
+		cache = other.cache;
+		if (other.simulator != null)
+			this.simulator = simulator;
+		if (other.solver != null)
+			this.solver = solver;
+	}
+
+	/**
+	 * Chooses a move for the player whose turn it is. The first move only
+	 * depends on the letters in the Rack, since it just needs to go through
+	 * the centre.
+	 *
+	 * @param state the game, which is not changed
+	 * @param deadline when to stop searching
+	 * @param random the random numbers for choosing an easy move
+	 * @return the chosen move, which can be an exchange, or null if there
+	 *         are no valid moves or the EndgameSolver finds that passing is
+	 *         best
+	 */
+	public Move chooseMove(GameState state, Deadline deadline, Random random)
+	{
+		int[] rack = state.getRack(state.getCurrentPlayer());
+
+		// Play a random move for easy difficulty
+		if (difficulty.equals(EASY))
+		{
+			ArrayList<Move> moves = findMoves(state, rack, deadline);
+			if (moves.size() == 0)
+				return null;
+			return moves.get(random.nextInt(moves.size()));
+		}
+
+		// Both Racks are known once the Bag is empty, so search to the end
+		if (solver != null && state.tilesInBag() == 0)
+			return solver.chooseMove(state, deadline);
+
+		// Exchange instead if the best Tiles to keep are worth more than the
+		// best play. Tiles can only be exchanged with at least 7 in the Bag.
+		Move best = choosePlay(state, rack, deadline, random);
+		if (leaves != null
+				&& state.tilesInBag() >= GameEngine.MIN_TILES_TO_EXCHANGE)
+		{
+			RackModel rackModel = new RackModel(rack);
+			Move exchange = leaves.findBestExchange(rackModel);
+			if (exchange != null
+					&& (best == null || leaves.getEquity(exchange, rackModel)
+							> leaves.getEquity(best, rackModel)))
+				return exchange;
+		}
+		return best;
+	}
+
+	/**
+	 * Chooses a word to play for Hard
+	 *
+	 * @param state the game, which is not changed
+	 * @param rack the number of each letter in the Rack
+	 * @param deadline when to stop searching
+	 * @param random the random numbers for simulating
+	 * @return the chosen move, or null if there are no valid moves
+	 */
+	private Move choosePlay(GameState state, int[] rack, Deadline deadline,
+			Random random)
+	{
+		// Simulate the best moves. Once the Bag is empty, both Racks are
+		// known, so there is nothing to guess.
+		if (simulator != null && state.tilesInBag() > 0)
+			return simulator.chooseMove(state, findMoves(state, rack,
+					deadline), leaves, deadline, random);
+
+		// Find the move with the highest equity. The Tiles kept don't matter
+		// once the Bag is empty.
+		if (leaves != null && state.tilesInBag() > 0)
+			return leaves.findBest(findMoves(state, rack, deadline),
+					new RackModel(rack));
+
+		// Find the highest-scoring move. A search cut short by the Deadline
+		// isn't cached, so every move found is checked.
+		if (cache != null)
+			return MoveGenerator.findBest(findMoves(state, rack, deadline));
+		if (state.isFirstMove())
+			return MoveGenerator.findBest(generator.generateFirstMove(rack,
+					anagrams));
+		return generator.findBest(state.getBoard(), state.getCrossChecks(),
+				rack, deadline);
+	}
+
+	/**
+	 * Sets the LeaveTable for Hard to choose moves with
+	 *
+	 * @param leaves the LeaveTable, or null to choose the highest-scoring
+	 *            move
+	 */
+	public void setLeaveTable(LeaveTable leaves)
+	{
+		this.leaves = leaves;
+	}
+
+	/**
+	 * Sets the MoveCache to look up and store moves in
+	 *
+	 * @param cache the MoveCache, which can be shared with other players, or
+	 *            null to always search
+	 */
+	public void setMoveCache(MoveCache cache)
+	{
+		this.cache = cache;
+	}
+
+	/**
+	 * Sets the Simulator for Hard to choose moves with
+	 *
+	 * @param simulator the Simulator, which can be shared with other players,
+	 *            or null to choose moves without simulating
+	 */
+	public void setSimulator(Simulator simulator)
+	{
+		this.simulator = simulator;
+	}
+
+	/**
+	 * Sets the EndgameSolver for Hard to choose moves with once the Bag is
+	 * empty
+	 *
+	 * @param solver the EndgameSolver, which can be shared with other players,
+	 *            or null to choose endgame moves like any other move
+	 */
+	public void setEndgameSolver(EndgameSolver solver)
+	{
+		this.solver = solver;
+	}
+
+	/**
+	 * Gets the difficulty of this player
+	 *
+	 * @return EASY or HARD
+	 */
+	public String getDifficulty()
+	{
+		return difficulty;
+	}
+
+	/**
+	 * Gets how long this player searches for each move
+	 *
+	 * @return the time limit in milliseconds, or 0 for no limit
+	 */
+	public long getTimeLimit()
+	{
+		return timeLimit;
+	}
+
+	/**
+	 * Returns a String representation of this player
+	 *
+	 * @return the difficulty and time limit, such as Hard:200, with +leaves
+	 *         if Hard uses a LeaveTable, +sim if it uses a Simulator and
+	 *         +endgame if it uses an EndgameSolver
+	 */
+	public String toString()
+	{
+		String name = difficulty + ":" + timeLimit;
+		if (difficulty.equals(HARD))
+		{
+			if (leaves != null)
+				name += "+leaves";
+			if (simulator != null)
+				name += "+sim";
+			if (solver != null)
+				name += "+endgame";
+		}
+		return name;
+	}
+
+	/**
+	 * Finds the valid moves for the player whose turn it is, from the
+	 * MoveCache if the position is in it. The moves are sorted the same way
+	 * whether or not they come from the MoveCache, so the move chosen doesn't
+	 * depend on it.
+	 *
+	 * @param state the game
+	 * @param rack the number of each letter in the Rack
+	 * @param deadline when to stop searching
+	 * @return the moves found, sorted from the highest score down, which
+	 *         should not be changed
+	 */
+	private ArrayList<Move> findMoves(GameState state, int[] rack,
+			Deadline deadline)
+	{
+		BoardModel board = state.getBoard();
+		if (cache != null)
+		{
+			ArrayList<Move> moves = cache.get(board, rack);
+			if (moves != null)
+				return moves;
+		}
+
+		ArrayList<Move> moves;
+		if (state.isFirstMove())
+			moves = generator.generateFirstMove(rack, anagrams);
+		else
+			moves = generator.generate(board, state.getCrossChecks(), rack,
+					deadline);
+		Collections.sort(moves, MoveCache.BY_SCORE);
+
+		// Only store the moves if the search wasn't cut short
+		if (cache != null && !deadline.isOver())
+			cache.put(board, rack, moves);
+		return moves;
+	}
+}
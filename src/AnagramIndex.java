@@ -0,0 +1,226 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * An AnagramIndex object that groups the short words in a Lexicon by their
+ * letters, so every word that can be made from a set of letters is found with
+ * one lookup. Includes methods to find the key for a set of letters, find the
+ * words for a key, and find every word that can be made from some or all of
+ * the Tiles in a Rack (with blanks standing for any letter).
+ *
+ * A key is the letters sorted into alphabetical order and packed into a long,
+ * five bits per letter, so two sets of letters have the same key only if they
+ * are anagrams of each other.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class AnagramIndex
+{
+	// The longest word that fits into a key
+	public static final int MAX_LENGTH = 12;
+	private static final int BLANK = 26;
+
+	private long[] keys; // Every key, sorted
+	private int[] firstWord; // Index in words of the first word for each key
+	private long[] words; // Every word packed into a long, grouped by key
+	private int maxLength;
+	private Lexicon lexicon;
+
+	/**
+	 * Constructs an AnagramIndex with the words in the given Lexicon that are
+	 * no longer than the given length
+	 *
+	 * @param lexicon the Lexicon to take the words from
+	 * @param maxLength the length of the longest word to include (up to
+	 *            MAX_LENGTH)
+	 */
+	public AnagramIndex(Lexicon lexicon, int maxLength)
+	{
+		this.maxLength = Math.min(maxLength, MAX_LENGTH);
+		this.lexicon = lexicon;
+
+		// Find each word and its key
+		ArrayList<long[]> entries = new ArrayList<long[]>();
+		addWords(lexicon, Lexicon.ROOT, new int[this.maxLength], 0, entries);
+		Collections.sort(entries, new Comparator<long[]>()
+		{
+			public int compare(long[] first, long[] second)
+			{
+				return first[0] < second[0] ? -1 : first[0] > second[0] ? 1
+						: 0;
+			}
+		});
+
+		// Group the words by key
+		int noOfKeys = 0;
+		for (int index = 0; index < entries.size(); index++)
+			if (index == 0 || entries.get(index)[0] != entries.get(index - 1)[0])
+				noOfKeys++;
+
+		keys = new long[noOfKeys];
+		firstWord = new int[noOfKeys + 1];
+		words = new long[entries.size()];
+		int key = -1;
+		for (int index = 0; index < entries.size(); index++)
+		{
+			if (index == 0 || entries.get(index)[0] != entries.get(index - 1)[0])
+			{
+				key++;
+				keys[key] = entries.get(index)[0];
+				firstWord[key] = index;
+			}
+			words[index] = entries.get(index)[1];
+		}
+		firstWord[noOfKeys] = words.length;
+	}
+
+	/**
+	 * Finds the key for the given letter counts
+	 *
+	 * @param counts the number of each letter (0-25 for A-Z)
+	 * @return the key for the letters
+	 */
+	public static long key(int[] counts)
+	{
+		long key = 0;
+		for (int letter = 0; letter < 26; letter++)
+			for (int count = 0; count < counts[letter]; count++)
+				key = (key << 5) | (letter + 1);
+		return key;
+	}
+
+	/**
+	 * Finds every word with the given key
+	 *
+	 * @param key the key of the letters in the words
+	 * @return a list of the words that are anagrams of the key's letters
+	 */
+	public ArrayList<String> getWords(long key)
+	{
+		ArrayList<String> anagrams = new ArrayList<String>();
+		int index = Arrays.binarySearch(keys, key);
+		if (index >= 0)
+			for (int word = firstWord[index]; word < firstWord[index + 1]; word++)
+				anagrams.add(unpack(words[word]));
+		return anagrams;
+	}
+
+	/**
+	 * Finds every word that can be made with some or all of the letters in
+	 * the given Rack. Blanks can stand for any letter and are shown in lower
+	 * case in the words found.
+	 *
+	 * @param rack the number of each letter in the Rack (0-25 for A-Z, 26 for
+	 *            blanks)
+	 * @return a list of every word that can be made
+	 */
+	public ArrayList<String> findWords(int[] rack)
+	{
+		// Each blank multiplies the number of lookups by 27, so walk the
+		// Lexicon instead, which stops at prefixes that lead nowhere
+		if (rack[BLANK] > 0)
+			return lexicon.findWords(rack, maxLength);
+
+		ArrayList<String> found = new ArrayList<String>();
+		findWords(rack, 0, new int[26], 0, found);
+		return found;
+	}
+
+	/**
+	 * Chooses how many of the given letter to use from the Rack, then moves on
+	 * to the next letter. Looks up the words once every letter has been
+	 * chosen.
+	 *
+	 * @param rack the number of each letter in the Rack
+	 * @param letter the letter to choose
+	 * @param counts the number of each letter chosen so far
+	 * @param length the number of letters chosen so far
+	 * @param found the list of words found so far
+	 */
+	private void findWords(int[] rack, int letter, int[] counts, int length,
+			ArrayList<String> found)
+	{
+		if (letter == 26)
+		{
+			if (length >= 2)
+				found.addAll(getWords(key(counts)));
+			return;
+		}
+
+		for (int used = 0; used <= rack[letter] && length + used <= maxLength; used++)
+		{
+			counts[letter] = used;
+			findWords(rack, letter + 1, counts, length + used, found);
+		}
+		counts[letter] = 0;
+	}
+
+	/**
+	 * Adds every word below the given node to the list of entries
+	 *
+	 * @param lexicon the Lexicon to take the words from
+	 * @param node the current node
+	 * @param word the letters on the path to the node
+	 * @param length the number of letters on the path
+	 * @param entries the list of keys and packed words
+	 */
+	private void addWords(Lexicon lexicon, int node, int[] word, int length,
+			ArrayList<long[]> entries)
+	{
+		if (lexicon.isWord(node))
+		{
+			int[] counts = new int[26];
+			long packed = 0;
+			for (int index = 0; index < length; index++)
+			{
+				counts[word[index]]++;
+				packed = (packed << 5) | (word[index] + 1);
+			}
+			entries.add(new long[] { key(counts), packed });
+		}
+
+		if (length == maxLength)
+			return;
+
+		int edges = lexicon.getChildren(node);
+		for (int letter = 0; letter < 26; letter++)
+		{
+			if ((edges & (1 << letter)) != 0)
+			{
+				word[length] = letter;
+				addWords(lexicon, lexicon.getChild(node, letter), word,
+						length + 1, entries);
+			}
+		}
+	}
+
+	/**
+	 * Changes a word packed into a long back into a String
+	 *
+	 * @param packed the packed word
+	 * @return the word
+	 */
+	private static String unpack(long packed)
+	{
+		StringBuilder word = new StringBuilder(MAX_LENGTH);
+		while (packed != 0)
+		{
+			word.append((char) ('A' + (int) (packed & 31) - 1));
+			packed >>>= 5;
+		}
+		return word.reverse().toString();
+	}
+
+	/**
+	 * Finds the number of words in the index
+	 *
+	 * @return the number of words in the index
+	 */
+	public int size()
+	{
+		return words.length;
+	}
+}
@@ -0,0 +1,175 @@
+import java.awt.Image;
+import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.ImageIcon;
+
+/**
+ * Loads the dictionary, help pages and Tile images on background threads so
+ * the main menu can be shown right away. Includes methods to get the Lexicon
+ * and help pages (waiting for them if they are not ready yet), and to log how
+ * long each startup phase takes. The times are only printed when the program
+ * is run with -Dscrabble.timing=true.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class AssetLoader
+{
+	private static final int NO_OF_HELP_PAGES = 17;
+
+	// Whether to print how long each startup phase takes
+	private static final boolean LOG_TIMES = Boolean
+			.getBoolean("scrabble.timing");
+
+	private ExecutorService loader;
+	private Future<Lexicon> lexicon;
+	private Future<Image[]> helpImages;
+
+	/**
+	 * Constructs an AssetLoader and starts loading everything in the
+	 * background
+	 *
+	 * @param binaryName the name of the binary Lexicon file
+	 * @param fileName the name of the dictionary word file
+	 */
+	public AssetLoader(final String binaryName, final String fileName)
+	{
+		// Daemon threads so loading never keeps the program from closing
+		loader = Executors.newFixedThreadPool(2, new ThreadFactory()
+		{
+			public Thread newThread(Runnable task)
+			{
+				Thread thread = new Thread(task, "Asset Loader");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		// The dictionary takes the longest, so start it first
+		lexicon = loader.submit(new Callable<Lexicon>()
+		{
+			public Lexicon call() throws FileNotFoundException
+			{
+				long startTime = System.nanoTime();
+				Lexicon dictionary = Lexicon.load(binaryName, fileName);
+				logTime("Dictionary", startTime);
+				return dictionary;
+			}
+		});
+
+		helpImages = loader.submit(new Callable<Image[]>()
+		{
+			public Image[] call()
+			{
+				long startTime = System.nanoTime();
+				Image[] images = new Image[NO_OF_HELP_PAGES];
+				for (int i = 0; i < images.length; i++)
+					images[i] = new ImageIcon("images\\Help" + i + ".png")
+							.getImage();
+				logTime("Help images", startTime);
+				return images;
+			}
+		});
+
+		loader.submit(new Runnable()
+		{
+			public void run()
+			{
+				long startTime = System.nanoTime();
+				Tile.loadImages();
+				logTime("Tile images", startTime);
+			}
+		});
+		loader.shutdown();
+	}
+
+	/**
+	 * Checks if the Lexicon has finished loading
+	 *
+	 * @return true if the Lexicon is ready, false otherwise
+	 */
+	public boolean isLexiconReady()
+	{
+		return lexicon.isDone();
+	}
+
+	/**
+	 * Gets the Lexicon, waiting for it to finish loading if needed
+	 *
+	 * @return the Lexicon, or null if the dictionary file could not be read
+	 */
+	public Lexicon getLexicon()
+	{
+		try
+		{
+			return lexicon.get();
+		}
+		catch (ExecutionException exp)
+		{
+			System.out.println("BAD FILE NAME");
+		}
+		catch (InterruptedException exp)
+		{
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the image for the given help page, waiting for the help pages to
+	 * finish loading if needed
+	 *
+	 * @param page the help page
+	 * @return the image for the help page
+	 */
+	public Image getHelpImage(int page)
+	{
+		try
+		{
+			return helpImages.get()[page];
+		}
+		catch (ExecutionException exp)
+		{
+			return null;
+		}
+		catch (InterruptedException exp)
+		{
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * Prints how long a startup phase took, if startup times are being logged
+	 *
+	 * @param phase the name of the phase
+	 * @param startTime the System.nanoTime() when the phase started
+	 */
+	public static void logTime(String phase, long startTime)
+	{
+		if (LOG_TIMES)
+			System.out.printf("[Startup] %s: %d ms%n", phase,
+					(System.nanoTime() - startTime) / 1000000);
+	}
+
+	/**
+	 * Prints how long it has been since the program was launched, if startup
+	 * times are being logged
+	 *
+	 * @param phase the name of the phase that was just reached
+	 */
+	public static void logSinceLaunch(String phase)
+	{
+		if (LOG_TIMES)
+			System.out.printf("[Startup] %s: %d ms after launch%n", phase,
+					System.currentTimeMillis()
+							- ManagementFactory.getRuntimeMXBean().getStartTime());
+	}
+}
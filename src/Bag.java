@@ -1,157 +1,158 @@
-import java.awt.Point;
+import java.util.Random;
 
 /**
- * A Bag object. Includes methods to construct a new Bag, shuffle
- * the Tiles in the Bag, deal a Tile, exchange Tiles, find how many undealt
- * Tiles are left in the Bag, and return a String representation of the Tiles in
- * the Bag.
- * 
+ * A Bag object. Includes methods to construct a new Bag, deal a Tile, return
+ * a Tile, exchange Tiles, find how many undealt Tiles are left in the Bag, count
+ * the Tiles of a letter left in the Bag, and return a String representation of
+ * the Tiles in the Bag.
+ *
+ * The Bag only keeps track of how many of each letter (0-25 for A-Z, 26 for
+ * blanks) are left in it, so it can be used without Swing. Tiles are picked at
+ * random when they are dealt, so the Bag never needs to be shuffled, and
+ * dealing, returning and exchanging a Tile take the same time no matter how
+ * many Tiles are in the Bag.
+ *
  * @author Jennifer Chan
  * @version 21 January 2015
- * 
+ *
  */
 public class Bag
 {
 
-	private Tile[] bag;
-	private int topTile;
-	private Point position;
-	
-	// 0-25 index corresponds with A-Z, 26 is a blank tile, stores the amount of points for each letter
-	// tile
-	private static int[] VALUES = { 1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3, 1,
-			1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10, 0 };
-	private static int[] NO_OF_EACH_TILE = { 9, 2, 2, 4, 12, 2, 3, 2, 9, 1, 1,
-		4, 2, 6, 8, 2, 1, 6, 4, 6, 4, 2, 2, 1, 2, 1 , 2};
+	private int[] counts;
+	private int noOfTiles;
+	private Random random;
+
+	public static final int[] NO_OF_EACH_TILE = { 9, 2, 2, 4, 12, 2, 3, 2, 9,
+			1, 1, 4, 2, 6, 8, 2, 1, 6, 4, 6, 4, 2, 2, 1, 2, 1, 2 };
 
 	/**
-	 * Constructs a new Bag with all 100 Scrabble Tiles in it and sets the top
-	 * Tile as the last Tile in the array
+	 * Constructs a new Bag with all 100 Scrabble Tiles in it
+	 *
+	 * @param random the random numbers to deal and exchange with
 	 */
-	public Bag(Point position)
+	public Bag(Random random)
 	{
-		this.bag = new Tile[100];
-		int index = 0;
-		this.position = position;
-		
-		// Put the 100 tiles in the bag
-		for (int letter = 0; letter < 27; letter++)
-		{
-			for (int tileNo = 0; tileNo < NO_OF_EACH_TILE[letter]; tileNo++)
-			{
-				bag[index] = new Tile(position, (char) ('A' + letter),
-						VALUES[letter]);
-				index++;
-			}
-		}
-		
-		this.topTile = 99;
+		this(NO_OF_EACH_TILE, random);
 	}
 
 	/**
-	 * Shuffles the Tiles in the Bag using the Fisher-Yates shuffle, makes sure
-	 * all Tiles go back in the Bag, and then resets the top Tile to the last
-	 * Tile in the array
+	 * Constructs a Bag with the given Tiles in it, such as the Tiles a player
+	 * has not seen yet
+	 *
+	 * @param letters the number of each letter to put in the Bag (0-25 for
+	 *            A-Z, 26 for blanks)
+	 * @param random the random numbers to deal and exchange with
 	 */
-	public void shuffle()
+	public Bag(int[] letters, Random random)
 	{
-		for (int currentTile = 0; currentTile < bag.length; currentTile++)
-		{
-			// Find a random tile between the current tile and the last tile in
-			// the bag
-			int switchIndex = (int) (Math.random() * (bag.length - currentTile))
-					+ currentTile;
-
-			// Switch the current tile and the random tile
-			Tile intermediate = bag[switchIndex];
-			bag[switchIndex] = bag[currentTile];
-			bag[currentTile] = intermediate;
-
-			// Make sure all tiles are in the bag
-			if (bag[currentTile].getPosition() != position)
-				bag[currentTile].setPosition(position);
-		}
-
-		// Reset the top tile
-		topTile = bag.length - 1;
+		this.counts = letters.clone();
+		this.random = random;
+		for (int count : counts)
+			noOfTiles += count;
 	}
 
 	/**
-	 * Deals out a Tile from the Bag
-	 * 
-	 * @return the Tile that is dealt from the Bag, or null if the Bag is empty
+	 * Constructs a copy of the given Bag that uses different random numbers
+	 *
+	 * @param other the Bag to copy
+	 * @param random the random numbers to deal and exchange with
 	 */
-	public Tile dealTile()
+	public Bag(Bag other, Random random)
 	{
-		// Deal the top tile
-		if (topTile >= 0)
-		{
-			topTile--;
-			return bag[topTile + 1];
-		}
-
-		// If the bag is empty, return null
-		return null;
-
+		this.counts = other.counts.clone();
+		this.noOfTiles = other.noOfTiles;
+		this.random = random;
 	}
 
 	/**
-	 * Exchanges the given Tile with a random Tile in the Bag
-	 * 
-	 * @param myTile the given Tile to exchange
+	 * Deals out a random Tile from the Bag
+	 *
+	 * @return the letter of the Tile that is dealt from the Bag, or
+	 *         BoardModel.EMPTY if the Bag is empty
 	 */
-	public Tile exchange(Tile myTile, Rack myRack)
+	public int dealTile()
 	{
-		int foundTile = -1;
-
-		// Find the tile in the Bag array
-		for (int i = bag.length - 1; i > topTile && foundTile == -1; i--)
+		// If the bag is empty, return nothing
+		if (noOfTiles == 0)
+			return BoardModel.EMPTY;
+
+		// Pick one of the tiles, and find which letter it is
+		int index = random.nextInt(noOfTiles);
+		int letter = 0;
+		while (index >= counts[letter])
 		{
-			// If the Tile in the Bag is at the same position as the Tile in the
-			// Rack, then we have found the same Tile 
-			if (bag[i].equals(myTile))
-			{
-				foundTile = i;
-			}
+			index -= counts[letter];
+			letter++;
 		}
 
-		// Exchange the tile
-		int exchangeIndex = (int) (Math.random() * (topTile + 1));
+		counts[letter]--;
+		noOfTiles--;
+		return letter;
+	}
 
-		// Switch the current tile and the random tile
-		Tile intermediate = bag[exchangeIndex];
-		bag[exchangeIndex] = bag[foundTile];
-		bag[foundTile] = intermediate;
+	/**
+	 * Puts the given Tile back in the Bag
+	 *
+	 * @param letter the letter of the Tile to return
+	 */
+	public void returnTile(int letter)
+	{
+		counts[letter]++;
+		noOfTiles++;
+	}
 
-		// Change positions
-		bag[exchangeIndex].setPosition(position);
-		
-		return bag[foundTile];
+	/**
+	 * Exchanges the given Tile with a random Tile in the Bag. The given Tile
+	 * goes back in the Bag after the new Tile is dealt, so the same Tile can't
+	 * come straight back. Precondition: the Bag is not empty
+	 *
+	 * @param letter the letter of the Tile to exchange
+	 * @return the letter of the Tile taken from the Bag
+	 */
+	public int exchange(int letter)
+	{
+		int dealt = dealTile();
+		returnTile(letter);
+		return dealt;
 	}
 
 	/**
 	 * Finds out how many Tiles are left, that are not yet dealt, from the Bag
-	 * 
+	 *
 	 * @return the number of Tiles that are not yet dealt from the Bag
 	 */
 	public int tilesLeft()
 	{
-		return topTile + 1;
+		return noOfTiles;
+	}
+
+	/**
+	 * Finds out how many Tiles of the given letter are left in the Bag
+	 *
+	 * @param letter the letter to count (0-25 for A-Z, 26 for blanks)
+	 * @return the number of Tiles of the letter left in the Bag
+	 */
+	public int getCount(int letter)
+	{
+		return counts[letter];
 	}
 
 	/**
 	 * Returns a String representation of the Tiles left in the Bag
-	 * 
+	 *
 	 * @return a String representation of the Tiles left in the Bag
 	 */
 	public String toString()
 	{
-		StringBuilder bagStr = new StringBuilder(bag.length * 2);
-		for (int currentTile = bag.length - 1; currentTile >= topTile; currentTile--)
-		{
-			bagStr.append(bag[currentTile].toString());
-			bagStr.append(" ");
-		}
+		StringBuilder bagStr = new StringBuilder(noOfTiles * 2);
+		for (int letter = 0; letter < counts.length; letter++)
+			for (int tileNo = 0; tileNo < counts[letter]; tileNo++)
+			{
+				bagStr.append(letter == BoardModel.BLANK ? '?'
+						: (char) ('A' + letter));
+				bagStr.append(" ");
+			}
 		return bagStr.toString();
 	}
 }
@@ -0,0 +1,253 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Scanner;
+
+/**
+ * A BoardModel object that keeps track of the letters on the board without
+ * any Swing or AWT objects, so the AI and the rules can run on a board that is
+ * cheap to copy. Each square is one byte (0 for an empty square, 1-26 for A-Z)
+ * and blanks are kept in a bit set. Includes methods to place and remove
+ * letters, check a square, copy the board, get the bonus for a square, and
+ * get the hash of the board.
+ *
+ * The hash is a Zobrist hash of the letters and blanks on the board, kept up
+ * to date as letters are placed and removed, so boards can be used as keys in
+ * caches without comparing every square.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class BoardModel
+{
+	public static final int SIZE = 15;
+	public static final int SQUARES = SIZE * SIZE;
+	public static final int EMPTY = -1;
+	public static final int BLANK = 26;
+
+	// 0-25 index corresponds with A-Z, 26 is a blank tile, stores the amount
+	// of points for each letter tile
+	public static final int[] VALUES = { 1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1,
+			3, 1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10, 0 };
+
+	// The bonuses for each square (DL = 1, TL = 2, DW = -1, TW = -2), read once
+	// from board.txt so the AI threads can share them without locking
+	private static final int[] BONUSES = readBonuses();
+
+	private byte[] letters;
+	private long[] blanks;
+	private int noOfTiles;
+	private long hash;
+
+	/**
+	 * Constructs an empty BoardModel
+	 */
+	public BoardModel()
+	{
+		letters = new byte[SQUARES];
+		blanks = new long[(SQUARES + 63) / 64];
+	}
+
+	/**
+	 * Constructs a copy of the given BoardModel
+	 *
+	 * @param other the BoardModel to copy
+	 */
+	public BoardModel(BoardModel other)
+	{
+		letters = other.letters.clone();
+		blanks = other.blanks.clone();
+		noOfTiles = other.noOfTiles;
+		hash = other.hash;
+	}
+
+	/**
+	 * Reads the bonuses for each square from board.txt
+	 *
+	 * @return the bonuses for each square
+	 */
+	private static int[] readBonuses()
+	{
+		int[] bonuses = new int[SQUARES];
+		try
+		{
+			Scanner sc = new Scanner(new File("board.txt"));
+			for (int square = 0; square < SQUARES; square++)
+				bonuses[square] = sc.nextInt();
+			sc.close();
+		}
+		catch (FileNotFoundException e)
+		{
+			System.out.println("BAD FILE NAME");
+		}
+		return bonuses;
+	}
+
+	/**
+	 * Gets the bonus for the given square
+	 *
+	 * @param row the row of the square
+	 * @param col the column of the square
+	 * @return 0 for no bonus, 1 for DL, 2 for TL, -1 for DW, -2 for TW
+	 */
+	public static int getBonus(int row, int col)
+	{
+		return BONUSES[row * SIZE + col];
+	}
+
+	/**
+	 * Gets the letter on the given square
+	 *
+	 * @param row the row of the square
+	 * @param col the column of the square
+	 * @return the letter (0 - 25), or EMPTY if there is no Tile
+	 */
+	public int getLetter(int row, int col)
+	{
+		return letters[row * SIZE + col] - 1;
+	}
+
+	/**
+	 * Checks if there is a Tile on the given square. Squares off the board
+	 * are empty.
+	 *
+	 * @param row the row of the square
+	 * @param col the column of the square
+	 * @return true if there is a Tile on the square, false otherwise
+	 */
+	public boolean hasTile(int row, int col)
+	{
+		return row >= 0 && row < SIZE && col >= 0 && col < SIZE
+				&& letters[row * SIZE + col] != 0;
+	}
+
+	/**
+	 * Checks if the Tile on the given square is a blank
+	 *
+	 * @param row the row of the square
+	 * @param col the column of the square
+	 * @return true if the Tile is a blank, false otherwise
+	 */
+	public boolean isBlank(int row, int col)
+	{
+		int square = row * SIZE + col;
+		return (blanks[square >> 6] & (1L << square)) != 0;
+	}
+
+	/**
+	 * Gets the value of the Tile on the given square
+	 *
+	 * @param row the row of the square
+	 * @param col the column of the square
+	 * @return the value of the Tile, or 0 if it is a blank or there is no Tile
+	 */
+	public int getValue(int row, int col)
+	{
+		int letter = getLetter(row, col);
+		if (letter == EMPTY || isBlank(row, col))
+			return 0;
+		return VALUES[letter];
+	}
+
+	/**
+	 * Places a letter on the given square
+	 *
+	 * @param row the row of the square
+	 * @param col the column of the square
+	 * @param letter the letter (0 - 25)
+	 * @param isBlank true if the Tile is a blank
+	 */
+	public void place(int row, int col, int letter, boolean isBlank)
+	{
+		int square = row * SIZE + col;
+		if (letters[square] == 0)
+			noOfTiles++;
+		else
+			hash ^= Zobrist.getSquareKey(square, letters[square] - 1,
+					isBlank(row, col));
+		letters[square] = (byte) (letter + 1);
+		hash ^= Zobrist.getSquareKey(square, letter, isBlank);
+		if (isBlank)
+			blanks[square >> 6] |= 1L << square;
+		else
+			blanks[square >> 6] &= ~(1L << square);
+	}
+
+	/**
+	 * Removes the letter from the given square
+	 *
+	 * @param row the row of the square
+	 * @param col the column of the square
+	 */
+	public void remove(int row, int col)
+	{
+		int square = row * SIZE + col;
+		if (letters[square] != 0)
+		{
+			noOfTiles--;
+			hash ^= Zobrist.getSquareKey(square, letters[square] - 1,
+					isBlank(row, col));
+		}
+		letters[square] = 0;
+		blanks[square >> 6] &= ~(1L << square);
+	}
+
+	/**
+	 * Removes every letter from the board
+	 */
+	public void clear()
+	{
+		for (int square = 0; square < SQUARES; square++)
+			letters[square] = 0;
+		for (int index = 0; index < blanks.length; index++)
+			blanks[index] = 0;
+		noOfTiles = 0;
+		hash = 0;
+	}
+
+	/**
+	 * Finds the number of Tiles on the board
+	 *
+	 * @return the number of Tiles on the board
+	 */
+	public int tilesOnBoard()
+	{
+		return noOfTiles;
+	}
+
+	/**
+	 * Gets the hash of the letters on the board
+	 *
+	 * @return the hash, which is the same for every board with the same
+	 *         letters and blanks on the same squares, and 0 for an empty board
+	 */
+	public long getHash()
+	{
+		return hash;
+	}
+
+	/**
+	 * Returns a String representation of the board, with '.' for empty
+	 * squares and blanks in lower case
+	 *
+	 * @return a String representation of the board
+	 */
+	public String toString()
+	{
+		StringBuilder boardStr = new StringBuilder(SQUARES + SIZE);
+		for (int row = 0; row < SIZE; row++)
+		{
+			for (int col = 0; col < SIZE; col++)
+			{
+				int letter = getLetter(row, col);
+				if (letter == EMPTY)
+					boardStr.append('.');
+				else if (isBlank(row, col))
+					boardStr.append((char) ('a' + letter));
+				else
+					boardStr.append((char) ('A' + letter));
+			}
+			boardStr.append("\n");
+		}
+		return boardStr.toString();
+	}
+}
@@ -0,0 +1,242 @@
+/**
+ * Keeps track of which letters can go on each empty square without forming
+ * an invalid word across the move, and the score of the Tiles already in that
+ * word. There is one set of letters for moves going across (checked against
+ * the Tiles above and below) and one for moves going down (checked against the
+ * Tiles to the left and right).
+ *
+ * Placing or removing a Tile only changes the squares at the ends of the
+ * lines of Tiles through it, so only those squares are worked out again.
+ * Includes methods to reset the checks for an empty board, work out every
+ * check for a board, update the checks after a square changes, and get the
+ * check and score for a square.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class CrossChecks
+{
+	public static final int ALL_LETTERS = (1 << 26) - 1;
+
+	// Score of a square with no Tiles across it
+	public static final int NO_WORD = -1;
+
+	private static final int SIZE = BoardModel.SIZE;
+
+	private Lexicon lexicon;
+
+	// Indexed by [direction][row * SIZE + col], with 1 for moves going across
+	// and 0 for moves going down
+	private int[][] checks;
+	private int[][] scores;
+
+	/**
+	 * Constructs the CrossChecks for an empty board
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 */
+	public CrossChecks(Lexicon lexicon)
+	{
+		this.lexicon = lexicon;
+		checks = new int[2][BoardModel.SQUARES];
+		scores = new int[2][BoardModel.SQUARES];
+		reset();
+	}
+
+	/**
+	 * Constructs a copy of the given CrossChecks
+	 *
+	 * @param other the CrossChecks to copy
+	 */
+	public CrossChecks(CrossChecks other)
+	{
+		lexicon = other.lexicon;
+		checks = new int[][] { other.checks[0].clone(),
+				other.checks[1].clone() };
+		scores = new int[][] { other.scores[0].clone(),
+				other.scores[1].clone() };
+	}
+
+	/**
+	 * Resets the checks for an empty board, where any letter can go anywhere
+	 */
+	public void reset()
+	{
+		for (int direction = 0; direction < 2; direction++)
+			for (int square = 0; square < BoardModel.SQUARES; square++)
+			{
+				checks[direction][square] = ALL_LETTERS;
+				scores[direction][square] = NO_WORD;
+			}
+	}
+
+	/**
+	 * Works out the checks for every square on the given board
+	 *
+	 * @param board the Tiles on the board
+	 */
+	public void findAll(BoardModel board)
+	{
+		for (int row = 0; row < SIZE; row++)
+			for (int col = 0; col < SIZE; col++)
+			{
+				findCheck(board, row, col, 0);
+				findCheck(board, row, col, 1);
+			}
+	}
+
+	/**
+	 * Updates the checks after a Tile has been placed on or removed from the
+	 * given square. Only the square itself and the first empty squares past
+	 * each end of the lines of Tiles through it can change.
+	 *
+	 * @param board the Tiles on the board, after the change
+	 * @param row the row of the square that changed
+	 * @param col the column of the square that changed
+	 */
+	public void update(BoardModel board, int row, int col)
+	{
+		findCheck(board, row, col, 0);
+		findCheck(board, row, col, 1);
+
+		// Moves going across are checked against the Tiles above and below,
+		// so the squares past the ends of the column change
+		int above = row - 1;
+		while (board.hasTile(above, col))
+			above--;
+		if (above >= 0)
+			findCheck(board, above, col, 1);
+		int below = row + 1;
+		while (board.hasTile(below, col))
+			below++;
+		if (below < SIZE)
+			findCheck(board, below, col, 1);
+
+		// Moves going down are checked against the Tiles to the left and right
+		int left = col - 1;
+		while (board.hasTile(row, left))
+			left--;
+		if (left >= 0)
+			findCheck(board, row, left, 0);
+		int right = col + 1;
+		while (board.hasTile(row, right))
+			right++;
+		if (right < SIZE)
+			findCheck(board, row, right, 0);
+	}
+
+	/**
+	 * Gets the letters that can go on the given square
+	 *
+	 * @param direction 1 for a move going across, 0 for a move going down
+	 * @param row the row of the square
+	 * @param col the column of the square
+	 * @return a bit for each letter (bit 0 for A) that forms a valid word
+	 *         across the move
+	 */
+	public int getCheck(int direction, int row, int col)
+	{
+		return checks[direction][row * SIZE + col];
+	}
+
+	/**
+	 * Gets the score of the Tiles already in the word across the move through
+	 * the given square
+	 *
+	 * @param direction 1 for a move going across, 0 for a move going down
+	 * @param row the row of the square
+	 * @param col the column of the square
+	 * @return the total value of the Tiles, or NO_WORD if there are no Tiles
+	 *         next to the square across the move
+	 */
+	public int getScore(int direction, int row, int col)
+	{
+		return scores[direction][row * SIZE + col];
+	}
+
+	/**
+	 * Works out which letters can go on the given square without forming an
+	 * invalid word across the move, and the score of the Tiles in that word
+	 *
+	 * @param board the Tiles on the board
+	 * @param row the row of the square
+	 * @param col the column of the square
+	 * @param direction 1 for a move going across, 0 for a move going down
+	 */
+	private void findCheck(BoardModel board, int row, int col, int direction)
+	{
+		int square = row * SIZE + col;
+
+		// Squares with a Tile on them can't take another one
+		if (board.hasTile(row, col))
+		{
+			checks[direction][square] = 0;
+			scores[direction][square] = NO_WORD;
+			return;
+		}
+
+		// The word across the move goes down for a move going across
+		int rowStep = direction;
+		int colStep = 1 - direction;
+
+		int topRow = row;
+		int topCol = col;
+		while (board.hasTile(topRow - rowStep, topCol - colStep))
+		{
+			topRow -= rowStep;
+			topCol -= colStep;
+		}
+		int bottomRow = row;
+		int bottomCol = col;
+		while (board.hasTile(bottomRow + rowStep, bottomCol + colStep))
+		{
+			bottomRow += rowStep;
+			bottomCol += colStep;
+		}
+
+		// No Tiles on either side, so any letter can go here
+		if (topRow == bottomRow && topCol == bottomCol)
+		{
+			checks[direction][square] = ALL_LETTERS;
+			scores[direction][square] = NO_WORD;
+			return;
+		}
+
+		// Follow the Tiles before the square
+		int score = 0;
+		int node = Lexicon.ROOT;
+		int before = Math.max(row - topRow, col - topCol);
+		for (int next = before; next > 0; next--)
+		{
+			int nextRow = row - next * rowStep;
+			int nextCol = col - next * colStep;
+			if (node != -1)
+				node = lexicon.getChild(node, board.getLetter(nextRow, nextCol));
+			score += board.getValue(nextRow, nextCol);
+		}
+		int after = Math.max(bottomRow - row, bottomCol - col);
+		for (int next = 1; next <= after; next++)
+			score += board.getValue(row + next * rowStep, col + next * colStep);
+		scores[direction][square] = score;
+
+		// Try each letter that can follow the Tiles before the square
+		int mask = 0;
+		if (node != -1)
+		{
+			int edges = lexicon.getChildren(node);
+			for (int letter = 0; letter < 26; letter++)
+			{
+				if ((edges & (1 << letter)) == 0)
+					continue;
+
+				int child = lexicon.getChild(node, letter);
+				for (int next = 1; next <= after && child != -1; next++)
+					child = lexicon.getChild(child, board.getLetter(row + next
+							* rowStep, col + next * colStep));
+				if (child != -1 && lexicon.isWord(child))
+					mask |= 1 << letter;
+			}
+		}
+		checks[direction][square] = mask;
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * A Deadline object that keeps track of how long the AI has left to search.
+ * A search checks the Deadline between pieces of work and hands back the best
+ * move it has found so far once time is up. Includes methods to check if time
+ * is up, to stop the search early, and to find how much time is left.
+ *
+ * A Deadline can be checked from many threads at once.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class Deadline
+{
+	private long endTime;
+	private volatile boolean stopped;
+
+	/**
+	 * Constructs a Deadline that ends after the given time limit
+	 *
+	 * @param timeLimit the time limit in milliseconds, or 0 for no limit
+	 */
+	public Deadline(long timeLimit)
+	{
+		if (timeLimit <= 0)
+			endTime = Long.MAX_VALUE;
+		else
+			endTime = System.nanoTime() + timeLimit * 1000000;
+	}
+
+	/**
+	 * Checks if the search should stop
+	 *
+	 * @return true if time is up or the search was stopped, false otherwise
+	 */
+	public boolean isOver()
+	{
+		return stopped
+				|| (endTime != Long.MAX_VALUE && System.nanoTime() - endTime >= 0);
+	}
+
+	/**
+	 * Stops the search right away
+	 */
+	public void stop()
+	{
+		stopped = true;
+	}
+
+	/**
+	 * Finds how much time is left
+	 *
+	 * @return the time left in milliseconds, 0 if time is up, or
+	 *         Long.MAX_VALUE if there is no limit
+	 */
+	public long timeLeft()
+	{
+		if (stopped)
+			return 0;
+		if (endTime == Long.MAX_VALUE)
+			return Long.MAX_VALUE;
+		return Math.max(0, (endTime - System.nanoTime()) / 1000000);
+	}
+}
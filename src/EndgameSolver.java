@@ -0,0 +1,691 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses moves once the Bag is empty, when both players can work out each
+ * other's Racks, by searching ahead through both players' moves (the
+ * endgame). Includes methods to choose a move, to clear the positions
+ * searched, to count the endgames searched, the positions searched and the
+ * endgames solved, and to return these as a String.
+ *
+ * The search looks for the move that leaves the player furthest ahead at the
+ * end of the game, with the other player always making the best reply. The
+ * game ends the same way as in GameEngine: a player who goes out gets the
+ * value of the other player's Tiles, and each player loses the value of the
+ * Tiles left on their own Rack. Where the search stops before the end, each
+ * player is counted as losing the value of their Rack.
+ *
+ * Each search goes one turn deeper than the last until time is up (iterative
+ * deepening), or until it reaches the end of every line, when the endgame is
+ * solved. Moves that go out are tried first, then the others from the
+ * highest score down, with the best move from the last search first of all,
+ * so alpha-beta pruning can skip most replies. Positions are kept in a
+ * transposition table by their Zobrist hash, so positions reached by playing
+ * moves in a different order are only searched once. The table is kept
+ * from one move to the next, and should be cleared for a new game. The moves
+ * at the top of the search are shared out between the threads.
+ *
+ * Most of the time goes on finding the moves at every position. In one
+ * second on one core, an endgame with 7 Tiles on each Rack is searched 1 to
+ * 3 turns ahead. An endgame is usually only solved in that time when one
+ * Rack holds 4 Tiles or fewer.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class EndgameSolver
+{
+	// Most turns to search ahead
+	public static final int MAX_DEPTH = 20;
+
+	// Value bigger than any change in the scores
+	private static final int INFINITY = 1000000;
+
+	// Kinds of value kept in the transposition table
+	private static final int EXACT = 0;
+	private static final int LOWER = 1;
+	private static final int UPPER = 2;
+
+	// The depth of a value that doesn't depend on where the search stopped
+	private static final int SOLVED = Integer.MAX_VALUE;
+
+	// Number of positions in the transposition table (a power of 2)
+	private static final int TABLE_SIZE = 1 << 20;
+
+	// Random number for the number of passes in a row, for the hash
+	private static final long PASS_KEY = 0x9e3779b97f4a7c15L;
+
+	// Sorts moves from the highest score down. Equal moves stay in the order
+	// they were found.
+	private static final Comparator<Move> BY_PROMISE = new Comparator<Move>()
+	{
+		public int compare(Move first, Move second)
+		{
+			return second.getScore() - first.getScore();
+		}
+	};
+
+	private ExecutorService pool;
+	private int parallelism;
+	private int maxDepth;
+	private Entry[] table;
+	private ThreadLocal<Search> searches;
+
+	private long endgames;
+	private long nodes;
+	private long solved;
+
+	/**
+	 * Constructs an EndgameSolver
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 * @param parallelism the number of threads to search with
+	 * @param maxDepth the most turns to search ahead
+	 */
+	public EndgameSolver(Lexicon lexicon, int parallelism, int maxDepth)
+	{
+		this(lexicon, parallelism, maxDepth, Thread.NORM_PRIORITY);
+	}
+
+	/**
+	 * Constructs an EndgameSolver whose threads have the given priority
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 * @param parallelism the number of threads to search with
+	 * @param maxDepth the most turns to search ahead
+	 * @param priority the priority of the threads
+	 */
+	public EndgameSolver(final Lexicon lexicon, int parallelism,
+			int maxDepth, final int priority)
+	{
+		this.parallelism = parallelism;
+		this.maxDepth = maxDepth;
+		table = new Entry[TABLE_SIZE];
+
+		// The threads shouldn't keep the program running once it is done
+		pool = Executors.newFixedThreadPool(parallelism, new ThreadFactory()
+		{
+			public Thread newThread(Runnable task)
+			{
+				Thread thread = new Thread(task, "EndgameSolver");
+				thread.setDaemon(true);
+				thread.setPriority(priority);
+				return thread;
+			}
+		});
+		searches = new ThreadLocal<Search>()
+		{
+			protected Search initialValue()
+			{
+				return new Search(lexicon);
+			}
+		};
+	}
+
+	/**
+	 * Chooses the move for the player whose turn it is. Precondition: the
+	 * Bag is empty and the game is not over
+	 *
+	 * @param state the game, which is not changed
+	 * @param deadline when to stop searching
+	 * @return the best move found, or null if passing is best
+	 */
+	public Move chooseMove(GameState state, Deadline deadline)
+	{
+		Search search = searches.get();
+		search.reset(deadline);
+		ArrayList<Move> moves = search.findMoves(state);
+
+		// Until a search finishes, play the move that looks best
+		int bestIndex = 0;
+		boolean isSolved = false;
+		long noOfNodes = 0;
+		for (int depth = 1; depth <= maxDepth && !isSolved; depth++)
+		{
+			Root root = new Root(state, moves, depth, deadline);
+			boolean finished = root.search();
+			noOfNodes += root.nodes.get();
+			if (!finished)
+				break;
+			bestIndex = root.bestIndex;
+			isSolved = root.isSolved;
+		}
+
+		synchronized (this)
+		{
+			endgames++;
+			nodes += noOfNodes;
+			if (isSolved)
+				solved++;
+		}
+		return bestIndex < moves.size() ? moves.get(bestIndex) : null;
+	}
+
+	/**
+	 * Forgets every position searched, ready for a new game. A search that
+	 * is still stopping may store a few more, which does no harm since each
+	 * is only used for the position with its hash.
+	 */
+	public void clear()
+	{
+		Arrays.fill(table, null);
+	}
+
+	/**
+	 * Counts the endgames searched
+	 *
+	 * @return the number of moves chosen
+	 */
+	public synchronized long getEndgames()
+	{
+		return endgames;
+	}
+
+	/**
+	 * Counts the positions searched in every endgame
+	 *
+	 * @return the number of positions searched
+	 */
+	public synchronized long getNodes()
+	{
+		return nodes;
+	}
+
+	/**
+	 * Counts the endgames searched to the end of every line
+	 *
+	 * @return the number of endgames solved
+	 */
+	public synchronized long getSolved()
+	{
+		return solved;
+	}
+
+	/**
+	 * Returns a String representation of the EndgameSolver
+	 *
+	 * @return the number of endgames searched and solved, and the positions
+	 *         searched
+	 */
+	public synchronized String toString()
+	{
+		return String.format("%d endgames, %d solved, %d positions", endgames,
+				solved, nodes);
+	}
+
+	/**
+	 * Finds the hash of a position, including both Racks and the number of
+	 * passes in a row, since both change how the endgame goes
+	 *
+	 * @param state the position
+	 * @return the hash
+	 */
+	private static long findHash(GameState state)
+	{
+		int player = state.getCurrentPlayer();
+		return state.getHash()
+				^ Long.rotateLeft(state.racks[1 - player].getHash(), 1)
+				^ state.getPassCount() * PASS_KEY;
+	}
+
+	/**
+	 * Finds the value of the Tiles in a Rack
+	 *
+	 * @param rack the Rack
+	 * @return the value of the Tiles, with blanks worth 0
+	 */
+	private static int findRackValue(RackModel rack)
+	{
+		int value = 0;
+		for (int letter = 0; letter < BoardModel.BLANK; letter++)
+			value += rack.getCount(letter) * BoardModel.VALUES[letter];
+		return value;
+	}
+
+	/**
+	 * Finds the value of the Tiles played in a move
+	 *
+	 * @param move the move
+	 * @return the value of the Tiles, with blanks worth 0
+	 */
+	private static int findTilesValue(Move move)
+	{
+		String tiles = move.getTiles();
+		int value = 0;
+		for (int index = 0; index < tiles.length(); index++)
+		{
+			char nextLetter = tiles.charAt(index);
+			if (!Character.isLowerCase(nextLetter))
+				value += BoardModel.VALUES[nextLetter - 'A'];
+		}
+		return value;
+	}
+
+	/**
+	 * A position kept in the transposition table. Entries are never changed,
+	 * so threads can share the table without locking.
+	 */
+	private static class Entry
+	{
+		private final long hash;
+		private final int depth;
+		private final int value;
+		private final int kind;
+		private final int bestIndex;
+
+		/**
+		 * Constructs an Entry
+		 *
+		 * @param hash the hash of the position
+		 * @param depth the turns searched ahead, or SOLVED
+		 * @param value the change in the lead for the player to move
+		 * @param kind EXACT, or LOWER or UPPER if the value is a bound
+		 * @param bestIndex the best move, or the number of moves for a pass
+		 */
+		Entry(long hash, int depth, int value, int kind, int bestIndex)
+		{
+			this.hash = hash;
+			this.depth = depth;
+			this.value = value;
+			this.kind = kind;
+			this.bestIndex = bestIndex;
+		}
+	}
+
+	/**
+	 * One depth of the search from the top, with the moves shared out between
+	 * the threads
+	 */
+	private class Root
+	{
+		private GameState state;
+		private ArrayList<Move> moves;
+		private int depth;
+		private Deadline deadline;
+		private int[] order;
+
+		private AtomicInteger nextMove = new AtomicInteger(1);
+		private AtomicInteger nodes = new AtomicInteger();
+		private int[] values;
+		private int bestValue;
+		private int bestIndex;
+		private boolean isSolved;
+		private volatile boolean stopped;
+
+		/**
+		 * Constructs a Root
+		 *
+		 * @param state the game
+		 * @param moves the moves for the player, in order of promise
+		 * @param depth the turns to search ahead
+		 * @param deadline when to stop searching
+		 */
+		Root(GameState state, ArrayList<Move> moves, int depth,
+				Deadline deadline)
+		{
+			this.state = state;
+			this.moves = moves;
+			this.depth = depth;
+			this.deadline = deadline;
+
+			// Try the best move from the last depth first. The last index is
+			// a pass.
+			order = new int[moves.size() + 1];
+			Entry entry = table[(int) findHash(state) & (TABLE_SIZE - 1)];
+			int first = entry != null && entry.hash == findHash(state)
+					? entry.bestIndex : 0;
+			order[0] = first;
+			for (int index = 0, next = 1; index < order.length; index++)
+				if (index != first)
+					order[next++] = index;
+			values = new int[order.length];
+		}
+
+		/**
+		 * Searches every move to this depth
+		 *
+		 * @return true if the search finished in time, false otherwise
+		 */
+		boolean search()
+		{
+			// The first move is searched in full to give the others a bound
+			Search search = searches.get();
+			search.reset(deadline);
+			boolean allSolved = searchMove(search, 0, -INFINITY);
+			nodes.addAndGet(search.nodes);
+			if (search.stopped)
+				return false;
+			bestValue = values[0];
+			bestIndex = 0;
+
+			Callable<Boolean> task = new Callable<Boolean>()
+			{
+				public Boolean call()
+				{
+					return searchMoves();
+				}
+			};
+			ArrayList<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int threadNo = 1; threadNo < parallelism; threadNo++)
+				results.add(pool.submit(task));
+			allSolved &= searchMoves();
+			try
+			{
+				for (Future<Boolean> nextResult : results)
+					allSolved &= nextResult.get();
+			}
+			catch (InterruptedException exp)
+			{
+				// Stop handing out moves
+				nextMove.set(order.length);
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			catch (ExecutionException exp)
+			{
+				throw new RuntimeException(exp.getCause());
+			}
+			if (stopped)
+				return false;
+
+			// The best move is the one with the highest value, or the first
+			// one tried if there is a tie
+			for (int index = 1; index < order.length; index++)
+				if (values[index] > values[bestIndex])
+					bestIndex = index;
+			bestValue = values[bestIndex];
+			isSolved = allSolved;
+			int first = order[bestIndex];
+			bestIndex = first;
+
+			long hash = findHash(state);
+			table[(int) hash & (TABLE_SIZE - 1)] = new Entry(hash,
+					isSolved ? SOLVED : depth, bestValue, EXACT, first);
+			return true;
+		}
+
+		/**
+		 * Takes the next move and searches it until there are none left
+		 *
+		 * @return true if every move searched was solved, false otherwise
+		 */
+		private boolean searchMoves()
+		{
+			Search search = searches.get();
+			search.reset(deadline);
+			boolean allSolved = true;
+			int index;
+			while ((index = nextMove.getAndIncrement()) < order.length)
+			{
+				// A move tried before the best so far wins a tie with it, so
+				// its search has to tell a tie from a worse move
+				int alpha;
+				synchronized (this)
+				{
+					alpha = index < bestIndex ? bestValue - 1 : bestValue;
+				}
+				allSolved &= searchMove(search, index, alpha);
+				if (search.stopped)
+				{
+					stopped = true;
+					break;
+				}
+
+				synchronized (this)
+				{
+					if (values[index] > bestValue
+							|| (values[index] == bestValue && index < bestIndex))
+					{
+						bestValue = values[index];
+						bestIndex = index;
+					}
+				}
+			}
+			nodes.addAndGet(search.nodes);
+			return allSolved;
+		}
+
+		/**
+		 * Searches one move
+		 *
+		 * @param search the Search for this thread
+		 * @param index the place of the move in the order
+		 * @param alpha the value the move has to beat
+		 * @return true if the value doesn't depend on the depth, false
+		 *         otherwise
+		 */
+		private boolean searchMove(Search search, int index, int alpha)
+		{
+			search.hitDepth = false;
+			int moveNo = order[index];
+			values[index] = search.searchChild(state, moveNo < moves.size()
+					? moves.get(moveNo) : null, depth, alpha, INFINITY);
+			return !search.hitDepth;
+		}
+	}
+
+	/**
+	 * The working space for searching on one thread
+	 */
+	private class Search
+	{
+		private GameEngine engine;
+		private MoveGenerator generator;
+		private Deadline deadline;
+		private int nodes;
+
+		// Whether the search reached its depth without the game ending, so
+		// the value depends on the depth
+		private boolean hitDepth;
+
+		// Whether time ran out, so the values can't be used
+		private boolean stopped;
+
+		/**
+		 * Constructs a Search
+		 *
+		 * @param lexicon the Lexicon to check words with
+		 */
+		Search(Lexicon lexicon)
+		{
+			engine = new GameEngine(lexicon);
+			generator = new MoveGenerator(lexicon);
+		}
+
+		/**
+		 * Gets ready for a new search
+		 *
+		 * @param deadline when to stop searching
+		 */
+		void reset(Deadline deadline)
+		{
+			this.deadline = deadline;
+			nodes = 0;
+			stopped = false;
+		}
+
+		/**
+		 * Finds the moves for the player whose turn it is, most promising
+		 * first
+		 *
+		 * @param state the position
+		 * @return the moves, with moves that go out first and then from the
+		 *         highest score down
+		 */
+		ArrayList<Move> findMoves(GameState state)
+		{
+			RackModel rack = state.racks[state.getCurrentPlayer()];
+			ArrayList<Move> moves = generator.generate(state.getBoard(),
+					state.getCrossChecks(), rack.getCounts());
+			ArrayList<Move> goingOut = new ArrayList<Move>();
+			ArrayList<Move> others = new ArrayList<Move>();
+			for (Move nextMove : moves)
+				if (nextMove.getTiles().length() == rack.size())
+					goingOut.add(nextMove);
+				else
+					others.add(nextMove);
+			Collections.sort(goingOut, BY_PROMISE);
+			Collections.sort(others, BY_PROMISE);
+			goingOut.addAll(others);
+			return goingOut;
+		}
+
+		/**
+		 * Finds the value of a position for the player whose turn it is
+		 *
+		 * @param state the position
+		 * @param depth the turns to search ahead
+		 * @param alpha the value the player already has elsewhere
+		 * @param beta the value the other player already has elsewhere
+		 * @return how much the player's lead changes by the end, or a bound
+		 *         on it if it is not between alpha and beta
+		 */
+		int search(GameState state, int depth, int alpha, int beta)
+		{
+			if (++nodes % 256 == 0 && deadline.isOver())
+				stopped = true;
+			if (stopped)
+				return 0;
+
+			// Count the Racks as lost where the search stops
+			int player = state.getCurrentPlayer();
+			if (depth == 0)
+			{
+				hitDepth = true;
+				return findRackValue(state.racks[1 - player])
+						- findRackValue(state.racks[player]);
+			}
+
+			// Use what is known about this position
+			long hash = findHash(state);
+			int slot = (int) hash & (TABLE_SIZE - 1);
+			Entry entry = table[slot];
+			int firstIndex = 0;
+			if (entry != null && entry.hash == hash)
+			{
+				if (entry.depth == SOLVED || entry.depth == depth)
+				{
+					if (entry.kind == EXACT
+							|| (entry.kind == LOWER && entry.value >= beta)
+							|| (entry.kind == UPPER && entry.value <= alpha))
+					{
+						if (entry.depth != SOLVED)
+							hitDepth = true;
+						return entry.value;
+					}
+				}
+				firstIndex = entry.bestIndex;
+			}
+
+			ArrayList<Move> moves = findMoves(state);
+			int noOfMoves = moves.size() + 1;
+			if (firstIndex >= noOfMoves)
+				firstIndex = 0;
+
+			boolean outerHitDepth = hitDepth;
+			hitDepth = false;
+			int startAlpha = alpha;
+			int bestValue = -INFINITY;
+			int bestIndex = firstIndex;
+			for (int count = 0; count < noOfMoves; count++)
+			{
+				// The best move from before first, then the rest in order,
+				// with a pass last
+				int index = count == 0 ? firstIndex : count <= firstIndex
+						? count - 1 : count;
+				Move move = index < moves.size() ? moves.get(index) : null;
+				int value = depth == 1 ? evaluate(state, move) : searchChild(
+						state, move, depth, alpha, beta);
+				if (stopped)
+					return 0;
+				if (value > bestValue)
+				{
+					bestValue = value;
+					bestIndex = index;
+				}
+				if (value > alpha)
+					alpha = value;
+				if (alpha >= beta)
+					break;
+			}
+
+			int kind = bestValue <= startAlpha ? UPPER
+					: bestValue >= beta ? LOWER : EXACT;
+			table[slot] = new Entry(hash, hitDepth ? depth : SOLVED, bestValue,
+					kind, bestIndex);
+			hitDepth |= outerHitDepth;
+			return bestValue;
+		}
+
+		/**
+		 * Plays a move and searches the position after it
+		 *
+		 * @param state the position
+		 * @param move the move, or null to pass
+		 * @param depth the turns to search ahead, including this one
+		 * @param alpha the value the player already has elsewhere
+		 * @param beta the value the other player already has elsewhere
+		 * @return how much the player's lead changes by the end
+		 */
+		int searchChild(GameState state, Move move, int depth, int alpha,
+				int beta)
+		{
+			int player = state.getCurrentPlayer();
+			int lead = state.getScore(player) - state.getScore(1 - player);
+
+			// The Bag is empty, so the copy never needs random numbers
+			GameState child = new GameState(state, null);
+			int score = 0;
+			if (move == null)
+				engine.pass(child);
+			else
+				score = engine.play(child, move);
+
+			if (child.isOver())
+				return child.getScore(player) - child.getScore(1 - player)
+						- lead;
+			return score - search(child, depth - 1, score - beta, score
+					- alpha);
+		}
+
+		/**
+		 * Finds the value of a move one turn before the search stops, without
+		 * playing it
+		 *
+		 * @param state the position
+		 * @param move the move, or null to pass
+		 * @return how much the player's lead changes by the end
+		 */
+		int evaluate(GameState state, Move move)
+		{
+			int player = state.getCurrentPlayer();
+			RackModel rack = state.racks[player];
+			int otherValue = findRackValue(state.racks[1 - player]);
+
+			// Going out ends the game
+			if (move != null && move.getTiles().length() == rack.size())
+				return move.getScore() + 2 * otherValue;
+
+			// After a move or a pass, both players lose their Racks, whether
+			// the game ends or the search stops
+			if (move == null)
+			{
+				if (state.getPassCount() + 1 < GameEngine.PASSES_TO_END)
+					hitDepth = true;
+				return otherValue - findRackValue(rack);
+			}
+			hitDepth = true;
+			return move.getScore() + otherValue
+					- (findRackValue(rack) - findTilesValue(move));
+		}
+	}
+}
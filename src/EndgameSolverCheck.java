@@ -0,0 +1,183 @@
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Command-line check that the EndgameSolver chooses moves as good as a plain
+ * minimax search, which tries every move and reply with no pruning and no
+ * transposition table. Hard plays itself until the Bag is empty and the two
+ * Racks hold no more than 7 Tiles between them, so minimax is quick. Then for
+ * each depth the value of the EndgameSolver's move is compared with the best
+ * value minimax finds looking the same number of turns ahead. Both count a
+ * player as losing the value of their Rack where the search stops, and use
+ * the GameEngine to end the game.
+ *
+ * Prints each endgame checked with how long the EndgameSolver took, and exits
+ * with status 1 if any move chosen was worse than the best. These endgames
+ * are small enough to solve quickly. With 7 Tiles on each Rack, one second
+ * on one core is only enough to search 1 to 3 turns ahead.
+ *
+ * Usage: java EndgameSolverCheck [endgames] [max depth] [threads] [seed]
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class EndgameSolverCheck
+{
+	// Most Tiles in the two Racks for an endgame to be checked
+	private static final int MAX_TILES = GameEngine.RACK_SIZE;
+
+	private static GameEngine engine;
+	private static MoveGenerator generator;
+
+	public static void main(String[] args)
+	{
+		int noOfEndgames = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+		int noOfThreads = args.length > 2 ? Integer.parseInt(args[2])
+				: Runtime.getRuntime().availableProcessors();
+		long runSeed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+		Lexicon lexicon;
+		try
+		{
+			lexicon = Lexicon.load("dictionary.dawg", "dictionary.txt");
+		}
+		catch (FileNotFoundException exp)
+		{
+			System.out.println("BAD FILE NAME");
+			return;
+		}
+		engine = new GameEngine(lexicon);
+		generator = new MoveGenerator(lexicon);
+		AIPlayer player = new AIPlayer(AIPlayer.HARD, 0,
+				new ParallelMoveGenerator(lexicon, noOfThreads),
+				new AnagramIndex(lexicon, GameEngine.RACK_SIZE));
+
+		int noOfChecks = 0;
+		int noOfFailures = 0;
+		int gameNo = 0;
+		for (int endgameNo = 0; endgameNo < noOfEndgames; gameNo++)
+		{
+			GameState state = playToEndgame(player, Seeds.split(runSeed,
+					gameNo));
+			if (state == null)
+				continue;
+			endgameNo++;
+
+			for (int depth = 1; depth <= maxDepth; depth++)
+			{
+				EndgameSolver solver = new EndgameSolver(lexicon, noOfThreads,
+						depth);
+				long startTime = System.nanoTime();
+				Move move = solver.chooseMove(state, new Deadline(0));
+				long time = (System.nanoTime() - startTime) / 1000000;
+				int best = findValue(state, depth);
+				int value = findValue(state, move, depth);
+				noOfChecks++;
+				if (value != best)
+					noOfFailures++;
+				int current = state.getCurrentPlayer();
+				System.out.printf(
+						"Game %d depth %d: %s against %s, best %d, %s "
+								+ "in %d ms chose %s worth %d%s%n", gameNo,
+						depth, state.getRackModel(current), state
+								.getRackModel(1 - current), best, solver,
+						time, move == null ? "pass" : move, value,
+						value == best ? "" : " FAILED");
+			}
+		}
+
+		System.out.printf("%d of %d checks passed%n", noOfChecks
+				- noOfFailures, noOfChecks);
+		if (noOfFailures > 0)
+			System.exit(1);
+	}
+
+	/**
+	 * Plays a game between two Hard players until the Bag is empty and the
+	 * Racks are small enough to check
+	 *
+	 * @param player the Hard player
+	 * @param seed the game seed
+	 * @return the game at the endgame, or null if the game ended first
+	 */
+	private static GameState playToEndgame(AIPlayer player, long seed)
+	{
+		GameState state = engine.newGame(seed);
+		Random random = Seeds.newRandom(seed, Seeds.FIRST_PLAYER);
+		while (!state.isOver()
+				&& (state.tilesInBag() > 0 || state.getRackSize(0)
+						+ state.getRackSize(1) > MAX_TILES))
+		{
+			Move move = player.chooseMove(state, new Deadline(0), random);
+			if (move == null || engine.play(state, move) < 0)
+				engine.pass(state);
+		}
+		return state.isOver() ? null : state;
+	}
+
+	/**
+	 * Finds the value of the best move by minimax
+	 *
+	 * @param state the game, which is not changed
+	 * @param depth the number of turns to look ahead
+	 * @return how much the best move changes the current player's lead by
+	 */
+	private static int findValue(GameState state, int depth)
+	{
+		int player = state.getCurrentPlayer();
+		if (depth == 0)
+			return getRackValue(state, 1 - player)
+					- getRackValue(state, player);
+
+		// Passing is tried as well as every move
+		ArrayList<Move> moves = generator.generate(state.getBoard(), state
+				.getCrossChecks(), state.getRack(player));
+		int best = findValue(state, null, depth);
+		for (Move nextMove : moves)
+			best = Math.max(best, findValue(state, nextMove, depth));
+		return best;
+	}
+
+	/**
+	 * Finds the value of the given move by minimax
+	 *
+	 * @param state the game, which is not changed
+	 * @param move the move, or null to pass
+	 * @param depth the number of turns to look ahead, including this one
+	 * @return how much the move changes the current player's lead by, with
+	 *         the other player making the best replies
+	 */
+	private static int findValue(GameState state, Move move, int depth)
+	{
+		int player = state.getCurrentPlayer();
+		int lead = state.getScore(player) - state.getScore(1 - player);
+		GameState trial = new GameState(state, new Random(0));
+		int score = 0;
+		if (move == null)
+			engine.pass(trial);
+		else
+			score = engine.play(trial, move);
+
+		if (trial.isOver())
+			return trial.getScore(player) - trial.getScore(1 - player) - lead;
+		return score - findValue(trial, depth - 1);
+	}
+
+	/**
+	 * Adds up the value of the Tiles in the given player's Rack
+	 *
+	 * @param state the game
+	 * @param player the player
+	 * @return the total value of the Tiles, with blanks worth 0
+	 */
+	private static int getRackValue(GameState state, int player)
+	{
+		RackModel rack = state.getRackModel(player);
+		int value = 0;
+		for (int letter = 0; letter < BoardModel.BLANK; letter++)
+			value += rack.getCount(letter) * BoardModel.VALUES[letter];
+		return value;
+	}
+}
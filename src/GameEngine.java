@@ -0,0 +1,334 @@
+/**
+ * Plays games of Scrabble by the rules, without Swing, so games can be run on
+ * servers, in batch jobs and in benchmarks as well as in ScrabblePanel.
+ * Includes methods to start a new game, to play a move, to exchange Tiles, to
+ * pass, to get the word that made the last move invalid, and to deal a
+ * player a guessed Rack for the AI's simulations.
+ *
+ * A GameEngine keeps working space for scoring moves, so each thread needs
+ * its own GameEngine. Many games can share one GameEngine on the same thread.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class GameEngine
+{
+	// Number of Tiles in a full Rack
+	public static final int RACK_SIZE = 7;
+
+	// Least number of Tiles in the Bag to exchange
+	public static final int MIN_TILES_TO_EXCHANGE = 7;
+
+	// Number of passes in a row that ends the game
+	public static final int PASSES_TO_END = 4;
+
+	// Value returned by play if the Tiles placed are not in the Rack
+	public static final int NOT_IN_RACK = -6;
+
+	// Value returned by play if the Tiles can't be exchanged
+	public static final int CANT_EXCHANGE = -7;
+
+	private static final int SIZE = BoardModel.SIZE;
+
+	private Lexicon lexicon;
+	private MoveScorer scorer;
+
+	// Working space for the Tiles placed by a Move
+	private BoardModel placed;
+	private int[] placedLetters;
+
+	/**
+	 * Constructs a GameEngine
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 */
+	public GameEngine(Lexicon lexicon)
+	{
+		this.lexicon = lexicon;
+		scorer = new MoveScorer(lexicon);
+		placed = new BoardModel();
+		placedLetters = new int[BoardModel.BLANK + 1];
+	}
+
+	/**
+	 * Starts a new game with a full Bag, and fills both Racks. The same seed
+	 * always gives the same Tiles, so a game can be played again from its
+	 * seed.
+	 *
+	 * @param seed the game seed
+	 * @return the GameState for the new game
+	 */
+	public GameState newGame(long seed)
+	{
+		GameState state = new GameState(lexicon, seed);
+		for (int player = 0; player < GameState.PLAYERS; player++)
+			fillRack(state, player);
+		return state;
+	}
+
+	/**
+	 * Plays the Tiles placed this turn for the current player, if they form a
+	 * valid move. A valid move adds its score, puts the Tiles on the board,
+	 * refills the Rack and ends the turn.
+	 *
+	 * @param state the game to play in
+	 * @param movesBoard the Tiles placed this turn, with blanks marked
+	 * @return the score for the move (>= 0) if it is valid, NOT_IN_RACK if the
+	 *         Tiles are not all in the current player's Rack, or one of the
+	 *         MoveScorer values for an invalid move
+	 */
+	public int play(GameState state, BoardModel movesBoard)
+	{
+		int player = state.currentPlayer;
+		if (state.over)
+			return MoveScorer.NO_TILES;
+
+		// Make sure the Tiles placed come from the Rack
+		int noOfPlaced = 0;
+		for (int letter = 0; letter < placedLetters.length; letter++)
+			placedLetters[letter] = 0;
+		for (int row = 0; row < SIZE; row++)
+			for (int col = 0; col < SIZE; col++)
+				if (movesBoard.hasTile(row, col))
+				{
+					int letter = movesBoard.isBlank(row, col) ? BoardModel.BLANK
+							: movesBoard.getLetter(row, col);
+					placedLetters[letter]++;
+					noOfPlaced++;
+				}
+		for (int letter = 0; letter < placedLetters.length; letter++)
+			if (placedLetters[letter] > state.racks[player].getCount(letter))
+				return NOT_IN_RACK;
+
+		int score = scorer.score(state.board, state.checks, movesBoard,
+				state.firstMove, state.racks[player].size() - noOfPlaced);
+		if (score < 0)
+			return score;
+
+		// Put the Tiles on the board
+		for (int row = 0; row < SIZE; row++)
+			for (int col = 0; col < SIZE; col++)
+				if (movesBoard.hasTile(row, col))
+				{
+					state.board.place(row, col, movesBoard.getLetter(row, col),
+							movesBoard.isBlank(row, col));
+					state.checks.update(state.board, row, col);
+				}
+		for (int letter = 0; letter < placedLetters.length; letter++)
+			for (int tileNo = 0; tileNo < placedLetters[letter]; tileNo++)
+				state.racks[player].remove(letter);
+
+		state.scores[player] += score;
+		state.lastScores[player] = score;
+		state.passCount = 0;
+		state.firstMove = false;
+		fillRack(state, player);
+		endTurn(state);
+		return score;
+	}
+
+	/**
+	 * Plays the given Move for the current player. A Move that is an exchange
+	 * exchanges its Tiles.
+	 *
+	 * @param state the game to play in
+	 * @param move the Move to play
+	 * @return the score for the move (>= 0) if it is valid, NOT_IN_RACK if the
+	 *         Tiles are not all in the current player's Rack, CANT_EXCHANGE
+	 *         if an exchange isn't allowed, or one of the MoveScorer values
+	 *         for an invalid move
+	 */
+	public int play(GameState state, Move move)
+	{
+		if (move.isExchange())
+		{
+			int[] letters = new int[BoardModel.BLANK + 1];
+			String tiles = move.getTiles();
+			for (int index = 0; index < tiles.length(); index++)
+				letters[Move.findLetter(tiles.charAt(index))]++;
+			return exchange(state, letters) ? 0 : CANT_EXCHANGE;
+		}
+
+		placed.clear();
+		int row = move.getRow();
+		int col = move.getCol();
+		String tiles = move.getTiles();
+		for (int index = 0; index < tiles.length(); index++)
+		{
+			// Skip over Tiles already on the board
+			while (state.board.hasTile(row, col))
+			{
+				if (move.getDirection() == 1)
+					col++;
+				else
+					row++;
+			}
+
+			// Blanks are stored in lower case
+			char nextLetter = tiles.charAt(index);
+			placed.place(row, col, Character.toUpperCase(nextLetter) - 'A',
+					Character.isLowerCase(nextLetter));
+
+			if (move.getDirection() == 1)
+				col++;
+			else
+				row++;
+		}
+		return play(state, placed);
+	}
+
+	/**
+	 * Exchanges the given Tiles from the current player's Rack for Tiles from
+	 * the Bag and ends the turn. Tiles can only be exchanged when there are at
+	 * least 7 Tiles in the Bag.
+	 *
+	 * @param state the game to play in
+	 * @param letters the number of each letter to exchange (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @return true if the Tiles were exchanged, false if there are not enough
+	 *         Tiles in the Bag, no Tiles were given or the Tiles are not all
+	 *         in the Rack
+	 */
+	public boolean exchange(GameState state, int[] letters)
+	{
+		int player = state.currentPlayer;
+		if (state.over || state.bag.tilesLeft() < MIN_TILES_TO_EXCHANGE)
+			return false;
+
+		int noOfTiles = 0;
+		for (int letter = 0; letter < letters.length; letter++)
+		{
+			if (letters[letter] > state.racks[player].getCount(letter))
+				return false;
+			noOfTiles += letters[letter];
+		}
+		if (noOfTiles == 0)
+			return false;
+
+		// Exchange each Tile one at a time
+		for (int letter = 0; letter < letters.length; letter++)
+			for (int tileNo = 0; tileNo < letters[letter]; tileNo++)
+			{
+				state.racks[player].remove(letter);
+				state.racks[player].add(state.bag.exchange(letter));
+			}
+
+		state.lastScores[player] = 0;
+		state.passCount = 0;
+		endTurn(state);
+		return true;
+	}
+
+	/**
+	 * Passes the current player's turn. The game ends after 4 passes in a row.
+	 *
+	 * @param state the game to play in
+	 */
+	public void pass(GameState state)
+	{
+		if (state.over)
+			return;
+
+		state.lastScores[state.currentPlayer] = 0;
+		state.passCount++;
+		endTurn(state);
+	}
+
+	/**
+	 * Puts the given player's Tiles back in the Bag and deals them a new Rack
+	 * of the same size. In a copy of the game, this guesses the other
+	 * player's Rack from the Tiles the current player has not seen.
+	 *
+	 * @param state the game to deal in
+	 * @param player the player whose Rack to deal again
+	 */
+	public void dealNewRack(GameState state, int player)
+	{
+		RackModel rack = state.racks[player];
+		int noOfTiles = rack.size();
+		for (int letter = 0; letter <= BoardModel.BLANK; letter++)
+			while (rack.getCount(letter) > 0)
+			{
+				rack.remove(letter);
+				state.bag.returnTile(letter);
+			}
+		for (int tileNo = 0; tileNo < noOfTiles; tileNo++)
+			rack.add(state.bag.dealTile());
+	}
+
+	/**
+	 * Gets the word that made the last move played invalid
+	 *
+	 * @return the invalid word
+	 */
+	public String getInvalidWord()
+	{
+		return scorer.getInvalidWord();
+	}
+
+	/**
+	 * Fills the given player's Rack so it contains 7 Tiles, or as many as are
+	 * left in the Bag
+	 *
+	 * @param state the game to play in
+	 * @param player the player whose Rack to fill
+	 */
+	private void fillRack(GameState state, int player)
+	{
+		while (state.racks[player].size() < RACK_SIZE
+				&& state.bag.tilesLeft() >= 1)
+			state.racks[player].add(state.bag.dealTile());
+	}
+
+	/**
+	 * Ends the current player's turn. The game ends after 4 passes in a row
+	 * or when the Bag is empty and one of the Racks is empty, otherwise it is
+	 * the other player's turn.
+	 *
+	 * @param state the game to play in
+	 */
+	private void endTurn(GameState state)
+	{
+		boolean rackEmpty = false;
+		for (int player = 0; player < GameState.PLAYERS; player++)
+			if (state.racks[player].size() == 0)
+				rackEmpty = true;
+
+		if (state.passCount >= PASSES_TO_END
+				|| (state.bag.tilesLeft() == 0 && rackEmpty))
+			endGame(state);
+		else
+			state.currentPlayer = 1 - state.currentPlayer;
+	}
+
+	/**
+	 * Ends the game. The value of the Tiles left on each Rack is taken off
+	 * that player's score and added to the other player's score if the other
+	 * player has used all of their Tiles. Scores can't go below 0.
+	 *
+	 * @param state the game to end
+	 */
+	private void endGame(GameState state)
+	{
+		int[] deductions = new int[GameState.PLAYERS];
+		for (int player = 0; player < GameState.PLAYERS; player++)
+			for (int letter = 0; letter < BoardModel.BLANK; letter++)
+				deductions[player] += state.racks[player].getCount(letter)
+						* BoardModel.VALUES[letter];
+
+		for (int player = 0; player < GameState.PLAYERS; player++)
+		{
+			int other = 1 - player;
+			state.scores[player] -= deductions[player];
+			if (state.racks[player].size() == 0)
+				state.scores[player] += deductions[other];
+		}
+
+		// Make sure the scores are not negative
+		for (int player = 0; player < GameState.PLAYERS; player++)
+			if (state.scores[player] < 0)
+				state.scores[player] = 0;
+
+		state.over = true;
+	}
+}
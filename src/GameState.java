@@ -0,0 +1,263 @@
+import java.util.Random;
+
+/**
+ * Keeps track of everything in a game of Scrabble between two players: the
+ * board, the Bag, the letters in each Rack, the scores, whose turn it is and
+ * how many turns in a row have been passed. Does not use Swing, so games can be
+ * played without a window. Includes methods to get the board and its
+ * CrossChecks, the letters in a Rack, the number of Tiles left in the Bag, the
+ * Tiles a player has not seen, the scores, whose turn it is, the number of
+ * passes in a row, whether it is the first move, whether the game is over and
+ * who won, and to get the hash of the position.
+ *
+ * The rules for changing a GameState are in GameEngine.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class GameState
+{
+	// Number of players in a game
+	public static final int PLAYERS = 2;
+
+	long seed;
+	BoardModel board;
+	CrossChecks checks;
+	Bag bag;
+
+	RackModel[] racks;
+
+	int[] scores;
+	int[] lastScores;
+	int currentPlayer;
+	int passCount;
+	boolean firstMove;
+	boolean over;
+
+	/**
+	 * Constructs the GameState for a new game, with an empty board, a full Bag
+	 * and empty Racks. Player 0 goes first.
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 * @param seed the game seed, which decides the order of the Tiles in the
+	 *            Bag
+	 */
+	GameState(Lexicon lexicon, long seed)
+	{
+		this.seed = seed;
+		board = new BoardModel();
+		checks = new CrossChecks(lexicon);
+		bag = new Bag(Seeds.newRandom(seed, Seeds.BAG));
+		racks = new RackModel[PLAYERS];
+		for (int player = 0; player < PLAYERS; player++)
+			racks[player] = new RackModel();
+		scores = new int[PLAYERS];
+		lastScores = new int[PLAYERS];
+		firstMove = true;
+	}
+
+	/**
+	 * Constructs a copy of the given GameState, so moves can be tried without
+	 * changing the game. The copy draws from its own random numbers.
+	 *
+	 * @param other the GameState to copy
+	 * @param random the random numbers for the copy of the Bag
+	 */
+	public GameState(GameState other, Random random)
+	{
+		seed = other.seed;
+		board = new BoardModel(other.board);
+		checks = new CrossChecks(other.checks);
+		bag = new Bag(other.bag, random);
+		racks = new RackModel[PLAYERS];
+		for (int player = 0; player < PLAYERS; player++)
+			racks[player] = new RackModel(other.racks[player]);
+		scores = other.scores.clone();
+		lastScores = other.lastScores.clone();
+		currentPlayer = other.currentPlayer;
+		passCount = other.passCount;
+		firstMove = other.firstMove;
+		over = other.over;
+	}
+
+	/**
+	 * Gets the seed the game was started with
+	 *
+	 * @return the game seed
+	 */
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * Gets the Tiles on the board. The board should not be changed.
+	 *
+	 * @return the Tiles on the board
+	 */
+	public BoardModel getBoard()
+	{
+		return board;
+	}
+
+	/**
+	 * Gets the CrossChecks for the board. They should not be changed.
+	 *
+	 * @return the CrossChecks for the board
+	 */
+	public CrossChecks getCrossChecks()
+	{
+		return checks;
+	}
+
+	/**
+	 * Gets the hash of the position as the player whose turn it is sees it:
+	 * the board, their Rack and whose turn it is. The other player's Rack is
+	 * not included, since the player can't see it.
+	 *
+	 * @return the Zobrist hash of the position
+	 */
+	public long getHash()
+	{
+		long hash = board.getHash() ^ racks[currentPlayer].getHash();
+		if (currentPlayer != 0)
+			hash ^= Zobrist.SECOND_PLAYER;
+		return hash;
+	}
+
+	/**
+	 * Gets the letters in the given player's Rack
+	 *
+	 * @param player the player (0 or 1)
+	 * @return a copy of the number of each letter in the Rack (0-25 for A-Z,
+	 *         26 for blanks)
+	 */
+	public int[] getRack(int player)
+	{
+		return racks[player].getCounts();
+	}
+
+	/**
+	 * Gets the given player's Rack
+	 *
+	 * @param player the player (0 or 1)
+	 * @return a copy of the player's Rack
+	 */
+	public RackModel getRackModel(int player)
+	{
+		return new RackModel(racks[player]);
+	}
+
+	/**
+	 * Finds the number of Tiles in the given player's Rack
+	 *
+	 * @param player the player (0 or 1)
+	 * @return the number of Tiles in the Rack
+	 */
+	public int getRackSize(int player)
+	{
+		return racks[player].size();
+	}
+
+	/**
+	 * Finds the number of Tiles left in the Bag
+	 *
+	 * @return the number of Tiles left in the Bag
+	 */
+	public int tilesInBag()
+	{
+		return bag.tilesLeft();
+	}
+
+	/**
+	 * Counts the Tiles the given player can't see, which are the Tiles in the
+	 * Bag and in the other player's Rack
+	 *
+	 * @param player the player (0 or 1)
+	 * @return the number of each letter not seen by the player (0-25 for A-Z,
+	 *         26 for blanks)
+	 */
+	public int[] getUnseen(int player)
+	{
+		int[] unseen = racks[1 - player].getCounts();
+		for (int letter = 0; letter < unseen.length; letter++)
+			unseen[letter] += bag.getCount(letter);
+		return unseen;
+	}
+
+	/**
+	 * Gets the given player's score
+	 *
+	 * @param player the player (0 or 1)
+	 * @return the player's score
+	 */
+	public int getScore(int player)
+	{
+		return scores[player];
+	}
+
+	/**
+	 * Gets the points the given player scored on their last turn
+	 *
+	 * @param player the player (0 or 1)
+	 * @return the points scored on the player's last turn
+	 */
+	public int getLastScore(int player)
+	{
+		return lastScores[player];
+	}
+
+	/**
+	 * Gets the player whose turn it is
+	 *
+	 * @return the player whose turn it is (0 or 1)
+	 */
+	public int getCurrentPlayer()
+	{
+		return currentPlayer;
+	}
+
+	/**
+	 * Gets the number of turns in a row that have been passed
+	 *
+	 * @return the number of passes in a row
+	 */
+	public int getPassCount()
+	{
+		return passCount;
+	}
+
+	/**
+	 * Checks if no move has been played yet
+	 *
+	 * @return true if this is the first move of the game, false otherwise
+	 */
+	public boolean isFirstMove()
+	{
+		return firstMove;
+	}
+
+	/**
+	 * Checks if the game has ended
+	 *
+	 * @return true if the game is over, false otherwise
+	 */
+	public boolean isOver()
+	{
+		return over;
+	}
+
+	/**
+	 * Finds the player with the higher score
+	 *
+	 * @return the player with the higher score (0 or 1), or -1 for a tie
+	 */
+	public int getWinner()
+	{
+		if (scores[0] > scores[1])
+			return 0;
+		if (scores[1] > scores[0])
+			return 1;
+		return -1;
+	}
+}
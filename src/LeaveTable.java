@@ -0,0 +1,309 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Keeps a value for every set of up to 6 Tiles that can be left on a Rack
+ * after a move (a leave), in points, so the AI can tell moves that keep good
+ * Tiles from moves that keep bad ones. Includes methods to get the value of a
+ * leave, to find the equity of a move (its score plus the value of its
+ * leave), to find the move with the highest equity, to find the best Tiles
+ * to exchange, and to read and write the table in a binary file.
+ *
+ * Every leave has a number (its index) from its letters, found by counting
+ * the leaves that come before it when they are listed in order. The table is
+ * just the value of each leave in that order, so no keys are stored and
+ * looking up a value takes the same time for any leave. The values are made
+ * by LeaveTableGenerator.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class LeaveTable
+{
+	// Most Tiles in a leave
+	public static final int MAX_LEAVE = RackModel.MAX_TILES - 1;
+
+	private static final int LETTERS = BoardModel.BLANK + 1;
+	private static final int MAGIC = 0x4C454156; // "LEAV"
+	private static final int VERSION = 1;
+
+	// Values are stored in hundredths of a point
+	private static final double SCALE = 100.0;
+
+	// The number of leaves using only the letters from the given letter on,
+	// with no more than the given number of Tiles
+	private static final int[][] WAYS = findWays();
+
+	// The number of leaves that come before a leave because they have fewer
+	// of the given letter, for each number of Tiles left to use, indexed by
+	// [letter][tiles left][count of the letter]
+	private static final int[][][] SKIPS = findSkips();
+
+	// Number of leaves in the table
+	public static final int NO_OF_LEAVES = WAYS[0][MAX_LEAVE];
+
+	private short[] values;
+
+	/**
+	 * Constructs a LeaveTable with the given values
+	 *
+	 * @param values the value of each leave in points, in order of index
+	 */
+	public LeaveTable(double[] values)
+	{
+		this.values = new short[NO_OF_LEAVES];
+		for (int index = 0; index < NO_OF_LEAVES; index++)
+			this.values[index] = (short) Math.max(Short.MIN_VALUE, Math.min(
+					Short.MAX_VALUE, Math.round(values[index] * SCALE)));
+	}
+
+	/**
+	 * Constructs a LeaveTable with the given stored values
+	 *
+	 * @param values the value of each leave in hundredths of a point
+	 */
+	private LeaveTable(short[] values)
+	{
+		this.values = values;
+	}
+
+	/**
+	 * Gets the value of the given leave
+	 *
+	 * @param leaveKey the RackModel key for the leave
+	 * @return the value of the leave in points, or 0 if it has more than 6
+	 *         Tiles
+	 */
+	public double getValue(long leaveKey)
+	{
+		// Read each letter's digit from the key, and count the leaves before
+		// this one
+		int index = 0;
+		int tilesLeft = MAX_LEAVE;
+		for (int letter = 0; letter < LETTERS; letter++)
+		{
+			int digits = RackModel.getMaxCount(letter) + 1;
+			int count = (int) (leaveKey % digits);
+			leaveKey /= digits;
+			if (count > tilesLeft)
+				return 0;
+			index += SKIPS[letter][tilesLeft][count];
+			tilesLeft -= count;
+		}
+		return values[index] / SCALE;
+	}
+
+	/**
+	 * Finds the equity of the given move, which is its score plus the value of
+	 * the Tiles it leaves on the Rack
+	 *
+	 * @param move the move
+	 * @param rack the Rack the move is made from
+	 * @return the equity of the move in points
+	 */
+	public double getEquity(Move move, RackModel rack)
+	{
+		return move.getScore() + getValue(rack.getLeaveKey(move.getTiles()));
+	}
+
+	/**
+	 * Finds the move with the highest equity
+	 *
+	 * @param moves the moves to choose from
+	 * @param rack the Rack the moves are made from
+	 * @return the first move with the highest equity, or null if there are no
+	 *         moves
+	 */
+	public Move findBest(ArrayList<Move> moves, RackModel rack)
+	{
+		Move best = null;
+		double bestEquity = 0;
+		for (Move nextMove : moves)
+		{
+			double equity = getEquity(nextMove, rack);
+			if (best == null || equity > bestEquity)
+			{
+				best = nextMove;
+				bestEquity = equity;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Finds the exchange that keeps the Tiles with the highest value. Every
+	 * different set of letters that can be kept is tried once, which is at
+	 * most 128 sets for a full Rack, so this is cheap enough for every turn.
+	 *
+	 * @param rack the Rack to exchange from
+	 * @return the exchange, which has an equity of the value of the Tiles
+	 *         kept, or null if the Rack is empty
+	 */
+	public Move findBestExchange(RackModel rack)
+	{
+		int[] letters = rack.getCounts();
+		int[] keep = new int[LETTERS];
+		int[] bestKeep = null;
+		int bestValue = 0;
+		int kept = 0;
+		while (true)
+		{
+			// At least one Tile has to be exchanged
+			if (kept < rack.size())
+			{
+				int value = values[findIndex(keep)];
+				if (bestKeep == null || value > bestValue)
+				{
+					bestKeep = keep.clone();
+					bestValue = value;
+				}
+			}
+
+			// Count up to the next set of letters to keep, like an odometer
+			int letter = 0;
+			while (letter < LETTERS && keep[letter] == letters[letter])
+			{
+				kept -= keep[letter];
+				keep[letter] = 0;
+				letter++;
+			}
+			if (letter == LETTERS)
+				break;
+			keep[letter]++;
+			kept++;
+		}
+		if (bestKeep == null)
+			return null;
+
+		StringBuilder tiles = new StringBuilder();
+		for (int letter = 0; letter < LETTERS; letter++)
+			for (int tileNo = bestKeep[letter]; tileNo < letters[letter]; tileNo++)
+				tiles.append(letter == BoardModel.BLANK ? '?'
+						: (char) ('A' + letter));
+		return new Move(tiles.toString());
+	}
+
+	/**
+	 * Finds the index of the given leave in the table
+	 *
+	 * @param letters the number of each letter in the leave (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @return the index of the leave, or -1 if it has more than 6 Tiles
+	 */
+	public static int findIndex(int[] letters)
+	{
+		int index = 0;
+		int tilesLeft = MAX_LEAVE;
+		for (int letter = 0; letter < LETTERS; letter++)
+		{
+			if (letters[letter] > tilesLeft)
+				return -1;
+			index += SKIPS[letter][tilesLeft][letters[letter]];
+			tilesLeft -= letters[letter];
+		}
+		return index;
+	}
+
+	/**
+	 * Reads a LeaveTable from the given binary file
+	 *
+	 * @param fileName the name of the binary file
+	 * @return the LeaveTable, or null if the file is missing or damaged
+	 */
+	public static LeaveTable readFromBinary(String fileName)
+	{
+		try
+		{
+			DataInputStream fileIn = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(fileName)));
+			try
+			{
+				if (fileIn.readInt() != MAGIC || fileIn.readInt() != VERSION
+						|| fileIn.readInt() != NO_OF_LEAVES)
+					return null;
+				short[] values = new short[NO_OF_LEAVES];
+				for (int index = 0; index < NO_OF_LEAVES; index++)
+					values[index] = fileIn.readShort();
+				return new LeaveTable(values);
+			}
+			finally
+			{
+				fileIn.close();
+			}
+		}
+		catch (IOException exp)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Writes this LeaveTable to a binary file
+	 *
+	 * @param fileName the name of the binary file
+	 * @return true if the file was written, false otherwise
+	 */
+	public boolean writeToBinary(String fileName)
+	{
+		try
+		{
+			DataOutputStream fileOut = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(fileName)));
+			fileOut.writeInt(MAGIC);
+			fileOut.writeInt(VERSION);
+			fileOut.writeInt(NO_OF_LEAVES);
+			for (short value : values)
+				fileOut.writeShort(value);
+			fileOut.close();
+			return true;
+		}
+		catch (IOException exp)
+		{
+			System.out.println("Error writing to the file");
+			return false;
+		}
+	}
+
+	/**
+	 * Counts the leaves that use only the letters from each letter on, with
+	 * no more than each number of Tiles
+	 *
+	 * @return the number of leaves, indexed by [letter][most Tiles]
+	 */
+	private static int[][] findWays()
+	{
+		int[][] ways = new int[LETTERS + 1][MAX_LEAVE + 1];
+		for (int tiles = 0; tiles <= MAX_LEAVE; tiles++)
+			ways[LETTERS][tiles] = 1;
+		for (int letter = LETTERS - 1; letter >= 0; letter--)
+			for (int tiles = 0; tiles <= MAX_LEAVE; tiles++)
+				for (int count = 0; count <= Math.min(
+						Bag.NO_OF_EACH_TILE[letter], tiles); count++)
+					ways[letter][tiles] += ways[letter + 1][tiles - count];
+		return ways;
+	}
+
+	/**
+	 * Counts the leaves that come before a leave because they have fewer of
+	 * each letter
+	 *
+	 * @return the number of leaves skipped, indexed by [letter][tiles
+	 *         left][count of the letter]
+	 */
+	private static int[][][] findSkips()
+	{
+		int[][][] skips = new int[LETTERS][MAX_LEAVE + 1][MAX_LEAVE + 1];
+		for (int letter = 0; letter < LETTERS; letter++)
+			for (int tilesLeft = 0; tilesLeft <= MAX_LEAVE; tilesLeft++)
+				for (int count = 1; count <= tilesLeft; count++)
+					skips[letter][tilesLeft][count] = skips[letter][tilesLeft][count - 1]
+							+ WAYS[letter + 1][tilesLeft - count + 1];
+		return skips;
+	}
+}
@@ -0,0 +1,466 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Build tool that works out the LeaveTable by playing games between two Hard
+ * players on every core. Each time a player keeps some Tiles and draws from
+ * the Bag, the points they score on their next turn are counted for that
+ * leave. The value of a leave is how many more points than average were
+ * scored after keeping it.
+ *
+ * Most leaves are kept too rarely to trust their average, so each value is
+ * pulled towards a guess made from the leaves with one Tile fewer: the value
+ * of the smaller leave plus the value of the extra Tile on its own. Leaves
+ * that were never kept get just the guess.
+ *
+ * Progress is saved after every batch of games, so a run that is stopped can
+ * be started again with the same command and it will carry on where it left
+ * off. The games are the same either way, so the table is too. A run with a
+ * different seed, or fewer games than have already been played, is refused
+ * until the progress file is deleted. The progress file is deleted once the
+ * table has been written.
+ *
+ * Usage: java LeaveTableGenerator [games] [table file] [threads] [progress
+ * file] [seed]
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class LeaveTableGenerator
+{
+	private static final int GAMES_PER_BATCH = 200;
+
+	// How many times a leave must be kept before its own average counts as
+	// much as the guess from the smaller leaves
+	private static final double PRIOR_WEIGHT = 10;
+
+	private static final int LETTERS = BoardModel.BLANK + 1;
+	private static final int MAGIC = 0x4C505247; // "LPRG"
+	private static final int VERSION = 1;
+
+	private static ThreadLocal<GameEngine> engines;
+
+	private long seed;
+	private int gamesPlayed;
+
+	// For each leave, indexed as in the LeaveTable, the number of times it
+	// was kept and the total points scored on the next turn
+	private int[] counts;
+	private long[] totals;
+
+	/**
+	 * Constructs a LeaveTableGenerator with no games played
+	 *
+	 * @param seed the seed the game seeds are worked out from
+	 */
+	public LeaveTableGenerator(long seed)
+	{
+		this.seed = seed;
+		counts = new int[LeaveTable.NO_OF_LEAVES];
+		totals = new long[LeaveTable.NO_OF_LEAVES];
+	}
+
+	public static void main(String[] args)
+	{
+		int noOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		String tableName = args.length > 1 ? args[1] : "leaves.dat";
+		int noOfThreads = args.length > 2 ? Integer.parseInt(args[2])
+				: Runtime.getRuntime().availableProcessors();
+		String progressName = args.length > 3 ? args[3] : "leaves.progress";
+		long seed = args.length > 4 ? Long.parseLong(args[4]) : 0;
+
+		final Lexicon lexicon;
+		try
+		{
+			lexicon = Lexicon.load("dictionary.dawg", "dictionary.txt");
+		}
+		catch (FileNotFoundException exp)
+		{
+			System.out.println("BAD FILE NAME");
+			return;
+		}
+		engines = new ThreadLocal<GameEngine>()
+		{
+			protected GameEngine initialValue()
+			{
+				return new GameEngine(lexicon);
+			}
+		};
+
+		// Carry on from the last run if there is one. Its games only count
+		// towards the same table if it has the same seed.
+		LeaveTableGenerator tableGenerator = readProgress(progressName);
+		if (tableGenerator == null)
+			tableGenerator = new LeaveTableGenerator(seed);
+		else if (tableGenerator.seed != seed)
+		{
+			System.out.printf("%s is from a run with seed %d, not %d. Delete "
+					+ "it to start again.%n", progressName,
+					tableGenerator.seed, seed);
+			System.exit(1);
+		}
+		else if (tableGenerator.gamesPlayed > noOfGames)
+		{
+			System.out.printf("%s already has %d games, more than %d. Delete "
+					+ "it to start again.%n", progressName,
+					tableGenerator.gamesPlayed, noOfGames);
+			System.exit(1);
+		}
+		else
+			System.out.printf("Carrying on from game %d (seed %d)%n",
+					tableGenerator.gamesPlayed, tableGenerator.seed);
+
+		ParallelMoveGenerator generator = new ParallelMoveGenerator(lexicon,
+				noOfThreads);
+		AIPlayer player = new AIPlayer(AIPlayer.HARD, 0, generator,
+				new AnagramIndex(lexicon, GameEngine.RACK_SIZE));
+		ExecutorService games = Executors.newFixedThreadPool(noOfThreads);
+		try
+		{
+			tableGenerator.playGames(player, games, noOfGames, progressName);
+		}
+		catch (InterruptedException exp)
+		{
+			Thread.currentThread().interrupt();
+			return;
+		}
+		catch (ExecutionException exp)
+		{
+			System.out.println("Game failed: " + exp.getCause());
+			return;
+		}
+		finally
+		{
+			games.shutdownNow();
+		}
+
+		long startTime = System.currentTimeMillis();
+		if (!tableGenerator.findValues().writeToBinary(tableName))
+			System.exit(1);
+		System.out.printf("Wrote %d leaves to %s in %d ms%n",
+				LeaveTable.NO_OF_LEAVES, tableName,
+				System.currentTimeMillis() - startTime);
+
+		// The run is finished, so the next one starts from the beginning
+		new File(progressName).delete();
+		System.exit(0);
+	}
+
+	/**
+	 * Plays games in batches until the given number of games have been
+	 * played, saving progress after each batch
+	 *
+	 * @param player the player for both sides
+	 * @param games the threads to play the games on
+	 * @param noOfGames the number of games to play in total
+	 * @param progressName the name of the file to save progress in
+	 * @throws InterruptedException if the thread is interrupted
+	 * @throws ExecutionException if a game fails
+	 */
+	private void playGames(final AIPlayer player, ExecutorService games,
+			int noOfGames, String progressName) throws InterruptedException,
+			ExecutionException
+	{
+		long startTime = System.nanoTime();
+		int startGames = gamesPlayed;
+		while (gamesPlayed < noOfGames)
+		{
+			int batchSize = Math.min(GAMES_PER_BATCH, noOfGames - gamesPlayed);
+			ArrayList<Future<int[]>> results = new ArrayList<Future<int[]>>(
+					batchSize);
+			for (int gameNo = gamesPlayed; gameNo < gamesPlayed + batchSize; gameNo++)
+			{
+				final long gameSeed = Seeds.split(seed, gameNo);
+				results.add(games.submit(new Callable<int[]>()
+				{
+					public int[] call()
+					{
+						return playGame(player, gameSeed);
+					}
+				}));
+			}
+
+			// Count the leaves from each game
+			for (Future<int[]> nextResult : results)
+			{
+				int[] leaves = nextResult.get();
+				for (int index = 0; index < leaves.length; index += 2)
+				{
+					counts[leaves[index]]++;
+					totals[leaves[index]] += leaves[index + 1];
+				}
+			}
+			gamesPlayed += batchSize;
+			writeProgress(progressName);
+
+			double seconds = (System.nanoTime() - startTime) / 1e9;
+			System.out.printf("%d of %d games played (%.2f games/s)%n",
+					gamesPlayed, noOfGames, (gamesPlayed - startGames)
+							/ seconds);
+		}
+	}
+
+	/**
+	 * Plays one game and finds the leaves kept and the points scored on the
+	 * turn after each one
+	 *
+	 * @param player the player for both sides
+	 * @param gameSeed the seed for the game
+	 * @return the index of each leave kept, each followed by the points
+	 *         scored on the next turn
+	 */
+	private static int[] playGame(AIPlayer player, long gameSeed)
+	{
+		GameEngine engine = engines.get();
+		GameState state = engine.newGame(gameSeed);
+		Random random = Seeds.newRandom(gameSeed, Seeds.FIRST_PLAYER);
+		ArrayList<Integer> leaves = new ArrayList<Integer>();
+
+		// The leave each player kept on their last turn, or -1 if they
+		// didn't draw after it
+		int[] lastLeaves = { -1, -1 };
+		int[] leave = new int[LETTERS];
+		while (!state.isOver())
+		{
+			int currentPlayer = state.getCurrentPlayer();
+			int[] rack = state.getRack(currentPlayer);
+			boolean willDraw = state.tilesInBag() > 0;
+
+			Move move = player.chooseMove(state, new Deadline(0), random);
+			int score = move == null ? MoveScorer.NO_TILES : engine.play(
+					state, move);
+			if (score < 0)
+			{
+				engine.pass(state);
+				score = 0;
+			}
+
+			// This turn's score counts for the leave kept last turn
+			if (lastLeaves[currentPlayer] >= 0)
+			{
+				leaves.add(lastLeaves[currentPlayer]);
+				leaves.add(score);
+			}
+			lastLeaves[currentPlayer] = -1;
+
+			// Remember the Tiles kept if the Rack was filled up from the Bag
+			if (move != null && willDraw)
+			{
+				System.arraycopy(rack, 0, leave, 0, LETTERS);
+				String tiles = move.getTiles();
+				for (int index = 0; index < tiles.length(); index++)
+					leave[Move.findLetter(tiles.charAt(index))]--;
+				lastLeaves[currentPlayer] = LeaveTable.findIndex(leave);
+			}
+		}
+
+		int[] result = new int[leaves.size()];
+		for (int index = 0; index < result.length; index++)
+			result[index] = leaves.get(index);
+		return result;
+	}
+
+	/**
+	 * Works out the value of every leave from the games played so far
+	 *
+	 * @return the LeaveTable
+	 */
+	private LeaveTable findValues()
+	{
+		// Find the average points scored after any leave
+		long totalCount = 0;
+		long totalPoints = 0;
+		for (int index = 0; index < counts.length; index++)
+		{
+			totalCount += counts[index];
+			totalPoints += totals[index];
+		}
+		double average = totalCount == 0 ? 0 : (double) totalPoints
+				/ totalCount;
+
+		// Work out the leaves from the smallest up, so the smaller leaves are
+		// ready for the guesses
+		double[] values = new double[LeaveTable.NO_OF_LEAVES];
+		double[] tileValues = new double[LETTERS];
+		for (int size = 0; size <= LeaveTable.MAX_LEAVE; size++)
+			findValues(0, size, new int[LETTERS], size, average, values,
+					tileValues);
+		return new LeaveTable(values);
+	}
+
+	/**
+	 * Works out the value of every leave with the given size and the given
+	 * counts for the letters before the given letter
+	 *
+	 * @param letter the next letter to choose a count for
+	 * @param tilesLeft the number of Tiles still to add
+	 * @param leave the count of each letter chosen so far
+	 * @param size the number of Tiles in the leaves
+	 * @param average the average points scored after any leave
+	 * @param values the values found so far
+	 * @param tileValues the value of each Tile on its own
+	 */
+	private void findValues(int letter, int tilesLeft, int[] leave, int size,
+			double average, double[] values, double[] tileValues)
+	{
+		if (letter == LETTERS)
+		{
+			if (tilesLeft == 0)
+				findValue(leave, size, average, values, tileValues);
+			return;
+		}
+
+		for (int count = 0; count <= Math.min(Bag.NO_OF_EACH_TILE[letter],
+				tilesLeft); count++)
+		{
+			leave[letter] = count;
+			findValues(letter + 1, tilesLeft - count, leave, size, average,
+					values, tileValues);
+		}
+		leave[letter] = 0;
+	}
+
+	/**
+	 * Works out the value of the given leave
+	 *
+	 * @param leave the count of each letter in the leave
+	 * @param size the number of Tiles in the leave
+	 * @param average the average points scored after any leave
+	 * @param values the values found so far
+	 * @param tileValues the value of each Tile on its own
+	 */
+	private void findValue(int[] leave, int size, double average,
+			double[] values, double[] tileValues)
+	{
+		// Guess from each leave with one Tile fewer
+		double guess = 0;
+		int noOfGuesses = 0;
+		for (int letter = 0; letter < LETTERS; letter++)
+			if (leave[letter] > 0)
+			{
+				leave[letter]--;
+				guess += values[LeaveTable.findIndex(leave)];
+				if (size > 1)
+					guess += tileValues[letter];
+				leave[letter]++;
+				noOfGuesses++;
+			}
+		if (noOfGuesses > 0)
+			guess /= noOfGuesses;
+
+		// Pull the average for this leave towards the guess
+		int index = LeaveTable.findIndex(leave);
+		values[index] = (totals[index] - counts[index] * average + PRIOR_WEIGHT
+				* guess)
+				/ (counts[index] + PRIOR_WEIGHT);
+
+		// Keep the value of each Tile on its own for the bigger leaves
+		if (size == 1)
+			for (int letter = 0; letter < LETTERS; letter++)
+				if (leave[letter] > 0)
+					tileValues[letter] = values[index]
+							- values[LeaveTable.findIndex(new int[LETTERS])];
+	}
+
+	/**
+	 * Saves the games played so far to the given file. The file is written
+	 * under another name first, so stopping part way through the write does
+	 * not lose the last progress saved.
+	 *
+	 * @param fileName the name of the file
+	 */
+	private void writeProgress(String fileName)
+	{
+		File newFile = new File(fileName + ".new");
+		try
+		{
+			DataOutputStream fileOut = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(newFile)));
+			fileOut.writeInt(MAGIC);
+			fileOut.writeInt(VERSION);
+			fileOut.writeInt(LeaveTable.NO_OF_LEAVES);
+			fileOut.writeLong(seed);
+			fileOut.writeInt(gamesPlayed);
+
+			// Only the leaves that have been kept are written
+			int noOfKept = 0;
+			for (int count : counts)
+				if (count > 0)
+					noOfKept++;
+			fileOut.writeInt(noOfKept);
+			for (int index = 0; index < counts.length; index++)
+				if (counts[index] > 0)
+				{
+					fileOut.writeInt(index);
+					fileOut.writeInt(counts[index]);
+					fileOut.writeLong(totals[index]);
+				}
+			fileOut.close();
+		}
+		catch (IOException exp)
+		{
+			System.out.println("Error writing to the file");
+			return;
+		}
+
+		File file = new File(fileName);
+		file.delete();
+		if (!newFile.renameTo(file))
+			System.out.println("Error writing to the file");
+	}
+
+	/**
+	 * Reads the games played so far from the given file
+	 *
+	 * @param fileName the name of the file
+	 * @return the LeaveTableGenerator with the games played so far, or null
+	 *         if the file is missing or damaged
+	 */
+	private static LeaveTableGenerator readProgress(String fileName)
+	{
+		try
+		{
+			DataInputStream fileIn = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(fileName)));
+			try
+			{
+				if (fileIn.readInt() != MAGIC || fileIn.readInt() != VERSION
+						|| fileIn.readInt() != LeaveTable.NO_OF_LEAVES)
+					return null;
+				LeaveTableGenerator tableGenerator = new LeaveTableGenerator(
+						fileIn.readLong());
+				tableGenerator.gamesPlayed = fileIn.readInt();
+				int noOfKept = fileIn.readInt();
+				for (int leaveNo = 0; leaveNo < noOfKept; leaveNo++)
+				{
+					int index = fileIn.readInt();
+					tableGenerator.counts[index] = fileIn.readInt();
+					tableGenerator.totals[index] = fileIn.readLong();
+				}
+				return tableGenerator;
+			}
+			finally
+			{
+				fileIn.close();
+			}
+		}
+		catch (IOException exp)
+		{
+			return null;
+		}
+	}
+}
@@ -0,0 +1,589 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
+/**
+ * A Lexicon object that stores the dictionary as a minimized directed acyclic
+ * word graph (DAWG), so words that share a prefix or a suffix share the same
+ * nodes. Includes methods to read a Lexicon from a word file, check if a word
+ * is in the Lexicon, walk a prefix through the graph, and look at the child
+ * edges of a node so the AI can stop building words that can never be
+ * completed.
+ *
+ * Letters are given as indexes from 0 to 25 (A to Z), the same as in the Bag.
+ * 
+ * A Lexicon can also be written to a binary file and read back with
+ * FileChannel.map, so the graph can be used straight from the file without
+ * building it again. The file has a header with the size and last modified
+ * time of the word file it was built from and a checksum of the graph.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class Lexicon
+{
+	// The node where every word starts
+	public static final int ROOT = 0;
+
+	// Each node takes up two ints: the first has one bit for each letter that
+	// has a child edge (bits 0-25) and the word bit (bit 26), the second is the
+	// index in children of the node's first child
+	private static final int WORD_BIT = 1 << 26;
+	private static final int LETTER_MASK = WORD_BIT - 1;
+	private IntBuffer nodes;
+
+	// The child nodes of every node, stored in alphabetical order
+	private IntBuffer children;
+	private int noOfWords;
+
+	// Binary file header: magic number, version, word file size, word file
+	// last modified time, number of words, number of ints in nodes and
+	// children, and the checksum
+	private static final int MAGIC = 0x44415747; // "DAWG"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 40;
+
+	/**
+	 * Constructs a new Lexicon with the given words
+	 *
+	 * @param words the words to put in the Lexicon (any case, characters
+	 *            other than letters are ignored)
+	 */
+	public Lexicon(ArrayList<String> words)
+	{
+		// The graph is built from words in alphabetical order, so that all
+		// the nodes for the previous word can be minimized before moving on
+		ArrayList<String> sorted = new ArrayList<String>(words.size());
+		for (String nextWord : words)
+		{
+			String word = clean(nextWord);
+			if (word.length() > 0)
+				sorted.add(word);
+		}
+		Collections.sort(sorted);
+
+		BuildNode root = new BuildNode();
+		HashMap<String, BuildNode> register = new HashMap<String, BuildNode>();
+		ArrayList<BuildNode> path = new ArrayList<BuildNode>();
+		path.add(root);
+		String lastWord = "";
+
+		for (String word : sorted)
+		{
+			// Skip repeated words
+			if (word.equals(lastWord))
+				continue;
+
+			// Find how much of the word is shared with the last word
+			int common = 0;
+			while (common < word.length() && common < lastWord.length()
+					&& word.charAt(common) == lastWord.charAt(common))
+				common++;
+
+			// The rest of the last word will never change again, so replace
+			// its nodes with equivalent nodes that are already in the graph
+			minimize(path, common, register);
+
+			// Add the new suffix
+			BuildNode node = path.get(common);
+			for (int index = common; index < word.length(); index++)
+			{
+				BuildNode next = new BuildNode();
+				node.next[word.charAt(index) - 'A'] = next;
+				path.add(next);
+				node = next;
+			}
+			node.isWord = true;
+			noOfWords++;
+			lastWord = word;
+		}
+		minimize(path, 0, register);
+
+		flatten(root, register.size() + 1);
+	}
+
+	/**
+	 * Constructs a Lexicon from a graph that has already been built
+	 * 
+	 * @param nodes the nodes of the graph
+	 * @param children the child nodes of every node
+	 * @param noOfWords the number of words in the graph
+	 */
+	private Lexicon(IntBuffer nodes, IntBuffer children, int noOfWords)
+	{
+		this.nodes = nodes;
+		this.children = children;
+		this.noOfWords = noOfWords;
+	}
+
+	/**
+	 * Reads a Lexicon from a file with one word on each line
+	 *
+	 * @param fileName the name of the file
+	 * @return the Lexicon with all the words in the file
+	 * @throws FileNotFoundException if the file does not exist
+	 */
+	public static Lexicon readFromFile(String fileName)
+			throws FileNotFoundException
+	{
+		ArrayList<String> words = new ArrayList<String>();
+		BufferedReader in = new BufferedReader(new FileReader(fileName));
+		try
+		{
+			String line = in.readLine();
+			while (line != null)
+			{
+				words.add(line);
+				line = in.readLine();
+			}
+			in.close();
+		}
+		catch (IOException exp)
+		{
+			System.out.println("Error reading the file");
+		}
+
+		return new Lexicon(words);
+	}
+
+	/**
+	 * Reads a Lexicon from the given binary file if it was built from the
+	 * current version of the given word file. Otherwise reads the word file
+	 * and writes a new binary file for next time.
+	 * 
+	 * @param binaryName the name of the binary file
+	 * @param fileName the name of the word file
+	 * @return the Lexicon with all the words in the word file
+	 * @throws FileNotFoundException if the word file does not exist
+	 */
+	public static Lexicon load(String binaryName, String fileName)
+			throws FileNotFoundException
+	{
+		File wordFile = new File(fileName);
+		Lexicon lexicon = readFromBinary(binaryName, wordFile.length(),
+				wordFile.lastModified());
+		if (lexicon == null)
+		{
+			lexicon = readFromFile(fileName);
+			lexicon.writeToBinary(binaryName, wordFile.length(),
+					wordFile.lastModified());
+		}
+		return lexicon;
+	}
+
+	/**
+	 * Maps a Lexicon from the given binary file
+	 * 
+	 * @param binaryName the name of the binary file
+	 * @param sourceLength the size of the word file it should be built from
+	 * @param sourceModified the last modified time of the word file it should
+	 *            be built from
+	 * @return the Lexicon, or null if the file is missing, was built from a
+	 *         different word file or is damaged
+	 */
+	public static Lexicon readFromBinary(String binaryName, long sourceLength,
+			long sourceModified)
+	{
+		try
+		{
+			RandomAccessFile file = new RandomAccessFile(binaryName, "r");
+			FileChannel channel = file.getChannel();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+					0, channel.size());
+			file.close();
+
+			// Check the header
+			if (buffer.capacity() < HEADER_SIZE || buffer.getInt() != MAGIC
+					|| buffer.getInt() != VERSION
+					|| buffer.getLong() != sourceLength
+					|| buffer.getLong() != sourceModified)
+				return null;
+			int noOfWords = buffer.getInt();
+			int noOfNodeInts = buffer.getInt();
+			int noOfChildren = buffer.getInt();
+			int checksum = buffer.getInt();
+			if (buffer.capacity() != HEADER_SIZE + 4L
+					* (noOfNodeInts + noOfChildren))
+				return null;
+
+			IntBuffer nodes = buffer.asIntBuffer();
+			nodes.limit(noOfNodeInts);
+			nodes = nodes.slice();
+			buffer.position(HEADER_SIZE + 4 * noOfNodeInts);
+			IntBuffer children = buffer.asIntBuffer();
+
+			if (checksum(nodes, children) != checksum)
+				return null;
+
+			return new Lexicon(nodes, children, noOfWords);
+		}
+		catch (IOException exp)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Writes this Lexicon to a binary file
+	 * 
+	 * @param binaryName the name of the binary file
+	 * @param sourceLength the size of the word file this was built from
+	 * @param sourceModified the last modified time of the word file this was
+	 *            built from
+	 */
+	public void writeToBinary(String binaryName, long sourceLength,
+			long sourceModified)
+	{
+		try
+		{
+			DataOutputStream fileOut = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(binaryName)));
+			fileOut.writeInt(MAGIC);
+			fileOut.writeInt(VERSION);
+			fileOut.writeLong(sourceLength);
+			fileOut.writeLong(sourceModified);
+			fileOut.writeInt(noOfWords);
+			fileOut.writeInt(nodes.limit());
+			fileOut.writeInt(children.limit());
+			fileOut.writeInt(checksum(nodes, children));
+			for (int index = 0; index < nodes.limit(); index++)
+				fileOut.writeInt(nodes.get(index));
+			for (int index = 0; index < children.limit(); index++)
+				fileOut.writeInt(children.get(index));
+			fileOut.close();
+		}
+		catch (IOException exp)
+		{
+			System.out.println("Error writing to the file");
+		}
+	}
+
+	/**
+	 * Calculates a checksum of the graph so a damaged binary file can be found
+	 * 
+	 * @param nodes the nodes of the graph
+	 * @param children the child nodes of every node
+	 * @return the checksum
+	 */
+	private static int checksum(IntBuffer nodes, IntBuffer children)
+	{
+		int checksum = 17;
+		for (int index = 0; index < nodes.limit(); index++)
+			checksum = checksum * 31 + nodes.get(index);
+		for (int index = 0; index < children.limit(); index++)
+			checksum = checksum * 31 + children.get(index);
+		return checksum;
+	}
+
+	/**
+	 * Checks if the given word is in the Lexicon
+	 *
+	 * @param word the word to check (upper case)
+	 * @return true if the word is in the Lexicon, false otherwise
+	 */
+	public boolean contains(String word)
+	{
+		int node = walk(ROOT, word);
+		return node != -1 && isWord(node);
+	}
+
+	/**
+	 * Follows the letters of the given prefix from the given node
+	 *
+	 * @param node the node to start from
+	 * @param prefix the letters to follow (upper case)
+	 * @return the node at the end of the prefix, or -1 if no word starts with
+	 *         the prefix
+	 */
+	public int walk(int node, String prefix)
+	{
+		for (int index = 0; index < prefix.length() && node != -1; index++)
+		{
+			int letter = prefix.charAt(index) - 'A';
+			if (letter < 0 || letter >= 26)
+				return -1;
+			node = getChild(node, letter);
+		}
+		return node;
+	}
+
+	/**
+	 * Finds the child of the given node along the edge for the given letter
+	 *
+	 * @param node the given node
+	 * @param letter the letter of the edge (0 - 25)
+	 * @return the child node, or -1 if there is no edge for the letter
+	 */
+	public int getChild(int node, int letter)
+	{
+		int info = nodes.get(node * 2);
+		int bit = 1 << letter;
+		if ((info & bit) == 0)
+			return -1;
+
+		// Children are stored in alphabetical order, so count the letters
+		// before this one to find where the child is
+		return children.get(nodes.get(node * 2 + 1)
+				+ Integer.bitCount(info & (bit - 1)));
+	}
+
+	/**
+	 * Finds which letters have an edge out of the given node
+	 *
+	 * @param node the given node
+	 * @return a bit set where bit i is set if letter i has an edge
+	 */
+	public int getChildren(int node)
+	{
+		return nodes.get(node * 2) & LETTER_MASK;
+	}
+
+	/**
+	 * Checks if the path to the given node spells a word
+	 *
+	 * @param node the given node
+	 * @return true if the path to the node is a word, false otherwise
+	 */
+	public boolean isWord(int node)
+	{
+		return (nodes.get(node * 2) & WORD_BIT) != 0;
+	}
+
+	/**
+	 * Finds every word that can be made with some or all of the letters in
+	 * the given Rack. The Rack is walked as a count of each letter, so each
+	 * word is only found once even if the Rack has repeated letters, and a
+	 * prefix is dropped as soon as no word starts with it. Blanks can stand
+	 * for any letter and are shown in lower case in the words found.
+	 * 
+	 * @param rack the number of each letter in the Rack (0-25 for A-Z, 26 for
+	 *            blanks)
+	 * @param maxLength the length of the longest word to find
+	 * @return a list of every word that can be made
+	 */
+	public ArrayList<String> findWords(int[] rack, int maxLength)
+	{
+		ArrayList<String> found = new ArrayList<String>();
+		findWords(ROOT, rack, new char[maxLength], 0, found);
+		return found;
+	}
+
+	/**
+	 * Adds every letter left in the Rack that continues the word so far, and
+	 * records every complete word
+	 * 
+	 * @param node the node for the word so far
+	 * @param rack the number of each letter left in the Rack
+	 * @param word the letters of the word so far
+	 * @param length the length of the word so far
+	 * @param found the list of words found so far
+	 */
+	private void findWords(int node, int[] rack, char[] word, int length,
+			ArrayList<String> found)
+	{
+		if (length >= 2 && isWord(node))
+			found.add(new String(word, 0, length));
+
+		if (length == word.length)
+			return;
+
+		int edges = getChildren(node);
+		for (int letter = 0; letter < 26; letter++)
+		{
+			if ((edges & (1 << letter)) == 0)
+				continue;
+
+			int child = getChild(node, letter);
+			if (rack[letter] > 0)
+			{
+				rack[letter]--;
+				word[length] = (char) ('A' + letter);
+				findWords(child, rack, word, length + 1, found);
+				rack[letter]++;
+			}
+			if (rack[26] > 0)
+			{
+				rack[26]--;
+				word[length] = (char) ('a' + letter);
+				findWords(child, rack, word, length + 1, found);
+				rack[26]++;
+			}
+		}
+	}
+
+	/**
+	 * Finds the number of words in the Lexicon
+	 *
+	 * @return the number of words in the Lexicon
+	 */
+	public int size()
+	{
+		return noOfWords;
+	}
+
+	/**
+	 * Finds the number of nodes in the graph
+	 *
+	 * @return the number of nodes in the graph
+	 */
+	public int noOfNodes()
+	{
+		return nodes.limit() / 2;
+	}
+
+	/**
+	 * Changes the given word to upper case and removes anything that is not a
+	 * letter
+	 *
+	 * @param word the given word
+	 * @return the cleaned up word
+	 */
+	private static String clean(String word)
+	{
+		StringBuilder cleanWord = new StringBuilder(word.length());
+		for (int index = 0; index < word.length(); index++)
+		{
+			char letter = Character.toUpperCase(word.charAt(index));
+			if (letter >= 'A' && letter <= 'Z')
+				cleanWord.append(letter);
+		}
+		return cleanWord.toString();
+	}
+
+	/**
+	 * Replaces the nodes on the path below the given depth with equivalent
+	 * nodes from the register, or adds them to the register if they are new
+	 *
+	 * @param path the nodes for the last word added, starting at the root
+	 * @param depth the depth to minimize down to
+	 * @param register the nodes already minimized, keyed by their edges
+	 */
+	private static void minimize(ArrayList<BuildNode> path, int depth,
+			HashMap<String, BuildNode> register)
+	{
+		for (int index = path.size() - 1; index > depth; index--)
+		{
+			BuildNode node = path.get(index);
+			BuildNode parent = path.get(index - 1);
+			String key = node.key();
+			BuildNode existing = register.get(key);
+
+			// Use the equivalent node instead
+			if (existing != null)
+			{
+				for (int letter = 0; letter < 26; letter++)
+					if (parent.next[letter] == node)
+						parent.next[letter] = existing;
+			}
+			// First time this node has been seen
+			else
+			{
+				node.id = register.size() + 1;
+				register.put(key, node);
+			}
+			path.remove(index);
+		}
+	}
+
+	/**
+	 * Stores the graph in the nodes and children arrays, numbering the nodes
+	 * in breadth first order so that the root is node 0
+	 *
+	 * @param root the root of the graph
+	 * @param noOfNodes the number of nodes in the graph
+	 */
+	private void flatten(BuildNode root, int noOfNodes)
+	{
+		BuildNode[] order = new BuildNode[noOfNodes];
+		int noOfEdges = 0;
+		int last = 0;
+		order[0] = root;
+		root.index = 0;
+
+		// Give every node its index
+		for (int current = 0; current <= last; current++)
+		{
+			for (BuildNode next : order[current].next)
+			{
+				if (next != null)
+				{
+					noOfEdges++;
+					if (next.index == -1)
+					{
+						last++;
+						next.index = last;
+						order[last] = next;
+					}
+				}
+			}
+		}
+
+		// Fill in the arrays
+		int[] nodes = new int[(last + 1) * 2];
+		int[] children = new int[noOfEdges];
+		int edge = 0;
+		for (int current = 0; current <= last; current++)
+		{
+			BuildNode node = order[current];
+			int info = node.isWord ? WORD_BIT : 0;
+			nodes[current * 2 + 1] = edge;
+			for (int letter = 0; letter < 26; letter++)
+			{
+				if (node.next[letter] != null)
+				{
+					info |= 1 << letter;
+					children[edge] = node.next[letter].index;
+					edge++;
+				}
+			}
+			nodes[current * 2] = info;
+		}
+
+		this.nodes = IntBuffer.wrap(nodes);
+		this.children = IntBuffer.wrap(children);
+	}
+
+	/**
+	 * A node of the graph while it is being built
+	 */
+	private static class BuildNode
+	{
+		private BuildNode[] next = new BuildNode[26];
+		private boolean isWord;
+		private int id;
+		private int index = -1;
+
+		/**
+		 * Returns a key that is the same for two nodes only if they have the
+		 * same word bit and the same edges to the same minimized nodes
+		 *
+		 * @return the key for this node
+		 */
+		private String key()
+		{
+			StringBuilder key = new StringBuilder();
+			key.append(isWord ? '1' : '0');
+			for (int letter = 0; letter < 26; letter++)
+			{
+				if (next[letter] != null)
+				{
+					key.append((char) ('A' + letter));
+					key.append(next[letter].id);
+				}
+			}
+			return key.toString();
+		}
+	}
+}
@@ -0,0 +1,38 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+
+/**
+ * Build tool that compiles a word file into the binary Lexicon file read by
+ * the ScrabblePanel, so the game does not have to build the word graph the
+ * first time it starts.
+ * 
+ * Usage: java LexiconCompiler [word file] [binary file]
+ * 
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class LexiconCompiler
+{
+	public static void main(String[] args)
+	{
+		String fileName = args.length > 0 ? args[0] : "dictionary.txt";
+		String binaryName = args.length > 1 ? args[1] : "dictionary.dawg";
+
+		try
+		{
+			long startTime = System.currentTimeMillis();
+			Lexicon lexicon = Lexicon.readFromFile(fileName);
+			File wordFile = new File(fileName);
+			lexicon.writeToBinary(binaryName, wordFile.length(),
+					wordFile.lastModified());
+
+			System.out.printf("Compiled %d words (%d nodes) into %s in %d ms%n",
+					lexicon.size(), lexicon.noOfNodes(), binaryName,
+					System.currentTimeMillis() - startTime);
+		}
+		catch (FileNotFoundException exp)
+		{
+			System.out.println("BAD FILE NAME");
+		}
+	}
+}
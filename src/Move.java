@@ -0,0 +1,153 @@
+/**
+ * A Move object that keeps track of a word the AI can play, or Tiles it can
+ * exchange. Includes methods to get the row, column and direction of the
+ * first Tile placed, the letters of the Tiles placed, the whole word formed
+ * along the direction of the move and the score of the move, to check if the
+ * move is an exchange, and to find the letter of a Tile in a move.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class Move
+{
+	// Direction of a move that exchanges Tiles instead of placing them
+	public static final int EXCHANGE = -1;
+
+	private int row;
+	private int col;
+	private int direction;
+	private String tiles;
+	private String word;
+	private int score;
+
+	/**
+	 * Constructs a Move
+	 *
+	 * @param row the row of the first Tile placed
+	 * @param col the column of the first Tile placed
+	 * @param direction 0 if the word is vertical, 1 if it is horizontal
+	 * @param tiles the letters of the Tiles placed, in order, with blanks in
+	 *            lower case
+	 * @param word the whole word formed along the direction of the move
+	 * @param score the score for the move
+	 */
+	public Move(int row, int col, int direction, String tiles, String word,
+			int score)
+	{
+		this.row = row;
+		this.col = col;
+		this.direction = direction;
+		this.tiles = tiles;
+		this.word = word;
+		this.score = score;
+	}
+
+	/**
+	 * Constructs a Move that exchanges the given Tiles
+	 *
+	 * @param tiles the letters of the Tiles to exchange, with blanks as ?
+	 */
+	public Move(String tiles)
+	{
+		this(-1, -1, EXCHANGE, tiles, "", 0);
+	}
+
+	/**
+	 * Gets the row of the first Tile placed
+	 *
+	 * @return the row of the first Tile placed
+	 */
+	public int getRow()
+	{
+		return row;
+	}
+
+	/**
+	 * Gets the column of the first Tile placed
+	 *
+	 * @return the column of the first Tile placed
+	 */
+	public int getCol()
+	{
+		return col;
+	}
+
+	/**
+	 * Gets the direction of the move
+	 *
+	 * @return 0 if the word is vertical, 1 if it is horizontal
+	 */
+	public int getDirection()
+	{
+		return direction;
+	}
+
+	/**
+	 * Gets the letters of the Tiles placed, in order. Blanks are in lower
+	 * case.
+	 *
+	 * @return the letters of the Tiles placed
+	 */
+	public String getTiles()
+	{
+		return tiles;
+	}
+
+	/**
+	 * Gets the whole word formed along the direction of the move, including
+	 * Tiles that were already on the board
+	 *
+	 * @return the word formed
+	 */
+	public String getWord()
+	{
+		return word;
+	}
+
+	/**
+	 * Gets the score for the move
+	 *
+	 * @return the score for the move
+	 */
+	public int getScore()
+	{
+		return score;
+	}
+
+	/**
+	 * Checks if the move exchanges Tiles instead of placing them
+	 *
+	 * @return true if the move is an exchange, false otherwise
+	 */
+	public boolean isExchange()
+	{
+		return direction == EXCHANGE;
+	}
+
+	/**
+	 * Finds the letter of a Tile in the Tiles of a move
+	 *
+	 * @param tile the Tile, with blanks in lower case, or as ? in an
+	 *            exchange
+	 * @return the letter (0-25 for A-Z, 26 for blanks)
+	 */
+	public static int findLetter(char tile)
+	{
+		if (tile == '?' || Character.isLowerCase(tile))
+			return BoardModel.BLANK;
+		return tile - 'A';
+	}
+
+	/**
+	 * Returns a String representation of the Move
+	 *
+	 * @return a String representation of the Move
+	 */
+	public String toString()
+	{
+		if (isExchange())
+			return "exchange " + tiles;
+		return String.format("%s (%d, %d) %s %d", word, row, col,
+				direction == 1 ? "across" : "down", score);
+	}
+}
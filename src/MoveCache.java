@@ -0,0 +1,205 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the moves found for recent positions, so the AI does not search
+ * the same board and Rack again. Includes methods to look up and store the
+ * moves for a position, to empty the cache, to count the hits, misses and
+ * evictions, and to return the counts as a String.
+ *
+ * A position is found by the hash of the board and the key of the Rack, so
+ * looking it up takes the same time whatever is on the board. Only a set
+ * number of positions is kept, and once it is full the position used least
+ * recently is dropped. The moves are kept sorted from the highest score down,
+ * with moves of the same score in the order they were found.
+ *
+ * A MoveCache can be used from many threads at once.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class MoveCache
+{
+	// The usual number of positions to keep
+	public static final int DEFAULT_SIZE = 1000;
+
+	// Sorts moves from the highest score down. Equal moves stay in the order
+	// they were found.
+	public static final Comparator<Move> BY_SCORE = new Comparator<Move>()
+	{
+		public int compare(Move first, Move second)
+		{
+			return second.getScore() - first.getScore();
+		}
+	};
+
+	private LinkedHashMap<Position, ArrayList<Move>> positions;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Constructs an empty MoveCache
+	 *
+	 * @param maxSize the most positions to keep
+	 */
+	public MoveCache(final int maxSize)
+	{
+		// Ordered by access, so the first entry is the one used least
+		// recently
+		positions = new LinkedHashMap<Position, ArrayList<Move>>(16, 0.75f,
+				true)
+		{
+			protected boolean removeEldestEntry(
+					Map.Entry<Position, ArrayList<Move>> eldest)
+			{
+				if (size() <= maxSize)
+					return false;
+				evictions++;
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Looks up the moves for the given position
+	 *
+	 * @param board the Tiles on the board
+	 * @param rack the number of each letter in the Rack (0-25 for A-Z, 26 for
+	 *            blanks)
+	 * @return the moves sorted from the highest score down, which should not
+	 *         be changed, or null if the position is not in the cache
+	 */
+	public synchronized ArrayList<Move> get(BoardModel board, int[] rack)
+	{
+		ArrayList<Move> moves = positions.get(new Position(board.getHash(),
+				RackModel.findKey(rack)));
+		if (moves == null)
+			misses++;
+		else
+			hits++;
+		return moves;
+	}
+
+	/**
+	 * Stores a sorted copy of the given moves for the given position. The
+	 * moves should be every valid move for the position.
+	 *
+	 * @param board the Tiles on the board
+	 * @param rack the number of each letter in the Rack (0-25 for A-Z, 26 for
+	 *            blanks)
+	 * @param moves the moves for the position, which are not changed
+	 */
+	public void put(BoardModel board, int[] rack, ArrayList<Move> moves)
+	{
+		Position position = new Position(board.getHash(),
+				RackModel.findKey(rack));
+		ArrayList<Move> sorted = new ArrayList<Move>(moves);
+		Collections.sort(sorted, BY_SCORE);
+		synchronized (this)
+		{
+			positions.put(position, sorted);
+		}
+	}
+
+	/**
+	 * Removes every position from the cache. The counts are kept.
+	 */
+	public synchronized void clear()
+	{
+		positions.clear();
+	}
+
+	/**
+	 * Counts the positions in the cache
+	 *
+	 * @return the number of positions in the cache
+	 */
+	public synchronized int size()
+	{
+		return positions.size();
+	}
+
+	/**
+	 * Counts the times a position was found in the cache
+	 *
+	 * @return the number of hits
+	 */
+	public synchronized long getHits()
+	{
+		return hits;
+	}
+
+	/**
+	 * Counts the times a position was not found in the cache
+	 *
+	 * @return the number of misses
+	 */
+	public synchronized long getMisses()
+	{
+		return misses;
+	}
+
+	/**
+	 * Counts the positions dropped to make room for new ones
+	 *
+	 * @return the number of evictions
+	 */
+	public synchronized long getEvictions()
+	{
+		return evictions;
+	}
+
+	/**
+	 * Returns a String representation of the cache
+	 *
+	 * @return the number of positions kept, hits, misses and evictions
+	 */
+	public synchronized String toString()
+	{
+		long lookups = hits + misses;
+		return String.format(
+				"%d positions, %d hits, %d misses (%.1f%% hits), %d evictions",
+				positions.size(), hits, misses, lookups == 0 ? 0.0 : 100.0
+						* hits / lookups, evictions);
+	}
+
+	/**
+	 * The key for a position: the hash of the board and the key of the Rack
+	 */
+	private static class Position
+	{
+		private long boardHash;
+		private long rackKey;
+
+		/**
+		 * Constructs a Position
+		 *
+		 * @param boardHash the hash of the board
+		 * @param rackKey the key of the Rack
+		 */
+		public Position(long boardHash, long rackKey)
+		{
+			this.boardHash = boardHash;
+			this.rackKey = rackKey;
+		}
+
+		public boolean equals(Object other)
+		{
+			if (!(other instanceof Position))
+				return false;
+			Position position = (Position) other;
+			return boardHash == position.boardHash
+					&& rackKey == position.rackKey;
+		}
+
+		public int hashCode()
+		{
+			long mixed = boardHash ^ rackKey * 0x9e3779b97f4a7c15L;
+			return (int) (mixed ^ (mixed >>> 32));
+		}
+	}
+}
@@ -0,0 +1,662 @@
+import java.util.ArrayList;
+
+/**
+ * Finds every valid move for a Rack using the anchor and cross-check
+ * algorithm from Appel and Jacobson's "The World's Fastest Scrabble Program".
+ * Words are only built by following the Lexicon from each anchor square (an
+ * empty square next to a Tile), so a word is dropped as soon as no word in the
+ * Lexicon starts with it. The letters that can go on each square come from
+ * the CrossChecks kept with the board, so the words across the move are
+ * checked with one bit test. Works on a BoardModel and the count of each
+ * letter in the Rack, so no Swing objects are needed. Each row and column is
+ * searched on its own, so the lines can be shared between threads. Includes
+ * methods to generate the moves for the board or for one line, to find the
+ * best move in a list, and to score a move the same way makeMove does in the
+ * ScrabblePanel.
+ *
+ * A blank can stand for any letter the Lexicon allows on its square, but only
+ * once the Rack has none of that letter left. Playing the real Tile instead
+ * scores more and keeps the blank, so this drops no useful moves, and the
+ * search never builds the same word twice with the blank moved to another
+ * square. When the word is recorded, the blanks are put on the squares where
+ * they lose the fewest points.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class MoveGenerator
+{
+	private static final int SIZE = BoardModel.SIZE;
+	private static final int EMPTY = BoardModel.EMPTY;
+	private static final int BLANK = BoardModel.BLANK;
+
+	private Lexicon lexicon;
+
+	// The line being searched, stored as [line][position] so that the word
+	// always goes along a line
+	private int direction;
+	private int[][] letters;
+	private int[][] values;
+	private int[][] crossChecks; // Letters that can go on each empty square
+	private int[][] crossScores; // Score of Tiles above and below each square,
+									// NO_WORD if there are none
+	private boolean[][] anchors;
+
+	// The Rack and the word currently being built
+	private int[] rack;
+	private int rackSize;
+	private int line;
+	private int anchor;
+	private int[] prefix;
+	private int[] word;
+	private boolean[] placed;
+	private boolean[] blank;
+	private int tilesPlaced;
+	private ArrayList<Move> moves;
+
+	// Used to find the best squares for the blanks in a word
+	private int[] blanksLeft;
+	private int[] tilesLeft;
+	private boolean[] bestBlank;
+	private int bestScore;
+
+	/**
+	 * Constructs a MoveGenerator
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 */
+	public MoveGenerator(Lexicon lexicon)
+	{
+		this.lexicon = lexicon;
+		letters = new int[SIZE][SIZE];
+		values = new int[SIZE][SIZE];
+		crossChecks = new int[SIZE][SIZE];
+		crossScores = new int[SIZE][SIZE];
+		anchors = new boolean[SIZE][SIZE];
+		rack = new int[27];
+		prefix = new int[SIZE];
+		word = new int[SIZE];
+		placed = new boolean[SIZE];
+		blank = new boolean[SIZE];
+		blanksLeft = new int[26];
+		tilesLeft = new int[26];
+		bestBlank = new boolean[SIZE];
+	}
+
+	/**
+	 * Finds every valid move that can be made with the Tiles in the given
+	 * Rack. Precondition: there is at least one Tile on the board
+	 *
+	 * @param board the Tiles already on the board
+	 * @param checks the CrossChecks for the board
+	 * @param myRack the number of each letter in the Rack (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @return a list of every valid move and its score
+	 */
+	public ArrayList<Move> generate(BoardModel board, CrossChecks checks,
+			int[] myRack)
+	{
+		// Search across every row, then down every column
+		ArrayList<Move> allMoves = new ArrayList<Move>();
+		for (int nextDirection = 1; nextDirection >= 0; nextDirection--)
+			for (int nextLine = 0; nextLine < SIZE; nextLine++)
+				allMoves.addAll(generateLine(board, checks, myRack,
+						nextDirection, nextLine));
+		return allMoves;
+	}
+
+	/**
+	 * Finds every valid move along one row or column that can be made with
+	 * the Tiles in the given Rack
+	 *
+	 * @param board the Tiles already on the board
+	 * @param checks the CrossChecks for the board
+	 * @param myRack the number of each letter in the Rack (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @param direction 1 to search across a row, 0 to search down a column
+	 * @param line the row or column to search
+	 * @return a list of every valid move in the line and its score
+	 */
+	public ArrayList<Move> generateLine(BoardModel board, CrossChecks checks,
+			int[] myRack, int direction, int line)
+	{
+		return generateLine(board, checks, myRack, direction, line,
+				new Deadline(0));
+	}
+
+	/**
+	 * Finds the valid moves along one row or column that can be made with the
+	 * Tiles in the given Rack, stopping at the next anchor once time is up
+	 *
+	 * @param board the Tiles already on the board
+	 * @param checks the CrossChecks for the board
+	 * @param myRack the number of each letter in the Rack (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @param direction 1 to search across a row, 0 to search down a column
+	 * @param line the row or column to search
+	 * @param deadline when to stop searching
+	 * @return a list of the valid moves found in the line and their scores
+	 */
+	public ArrayList<Move> generateLine(BoardModel board, CrossChecks checks,
+			int[] myRack, int direction, int line, Deadline deadline)
+	{
+		countRack(myRack);
+		moves = new ArrayList<Move>();
+		this.direction = direction;
+		this.line = line;
+
+		setUpLine(board, checks);
+		for (int pos = 0; pos < SIZE && !deadline.isOver(); pos++)
+			if (anchors[line][pos])
+				searchAnchor(pos);
+
+		return moves;
+	}
+
+	/**
+	 * Rates how promising a row or column is, so the best lines can be
+	 * searched first when time is short. Each anchor is worth 1, and each
+	 * empty bonus square that a Tile from the Rack could reach is worth 1 for
+	 * DL, 2 for TL or DW and 3 for TW.
+	 *
+	 * @param board the Tiles already on the board
+	 * @param checks the CrossChecks for the board
+	 * @param rackSize the number of Tiles in the Rack
+	 * @param direction 1 for a row, 0 for a column
+	 * @param line the row or column to rate
+	 * @return the rating for the line, 0 if it has no anchors
+	 */
+	public int rateLine(BoardModel board, CrossChecks checks, int rackSize,
+			int direction, int line)
+	{
+		this.direction = direction;
+		this.line = line;
+		setUpLine(board, checks);
+
+		int rating = 0;
+		for (int pos = 0; pos < SIZE; pos++)
+		{
+			if (anchors[line][pos])
+				rating++;
+			if (letters[line][pos] != EMPTY)
+				continue;
+
+			// Check for an anchor close enough to reach this square
+			boolean reached = false;
+			for (int other = Math.max(0, pos - rackSize + 1); other < SIZE
+					&& other < pos + rackSize && !reached; other++)
+				reached = anchors[line][other];
+			if (!reached)
+				continue;
+
+			int square = direction == 1 ? BoardModel.getBonus(line, pos)
+					: BoardModel.getBonus(pos, line);
+			if (square > 0)
+				rating += square;
+			else if (square < 0)
+				rating += 1 - square;
+		}
+		return rating;
+	}
+
+	/**
+	 * Finds the move with the highest score in the given list. If more than
+	 * one move has the highest score, the first one is chosen.
+	 *
+	 * @param moves the list of moves
+	 * @return the move with the highest score, or null if the list is empty
+	 */
+	public static Move findBest(ArrayList<Move> moves)
+	{
+		Move best = null;
+		for (Move nextMove : moves)
+			if (best == null || nextMove.getScore() > best.getScore())
+				best = nextMove;
+		return best;
+	}
+
+	/**
+	 * Finds every valid first move that can be made with the Tiles in the
+	 * given Rack. Each word from the AnagramIndex is tried in every position
+	 * across the centre row that covers the centre square.
+	 *
+	 * @param myRack the number of each letter in the Rack (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @param anagrams the index of words for each set of letters
+	 * @return a list of every valid first move and its score
+	 */
+	public ArrayList<Move> generateFirstMove(int[] myRack,
+			AnagramIndex anagrams)
+	{
+		countRack(myRack);
+		moves = new ArrayList<Move>();
+
+		// Nothing is on the board yet, so there are no cross words
+		direction = 1;
+		line = SIZE / 2;
+		for (int pos = 0; pos < SIZE; pos++)
+		{
+			letters[line][pos] = EMPTY;
+			crossScores[line][pos] = CrossChecks.NO_WORD;
+		}
+
+		for (String nextWord : anagrams.findWords(rack))
+		{
+			int length = nextWord.length();
+			tilesPlaced = length;
+			for (int start = Math.max(0, SIZE / 2 - length + 1); start <= SIZE / 2
+					&& start + length <= SIZE; start++)
+			{
+				for (int index = 0; index < length; index++)
+				{
+					char letter = nextWord.charAt(index);
+					word[start + index] = Character.toUpperCase(letter) - 'A';
+					placed[start + index] = true;
+					blank[start + index] = Character.isLowerCase(letter);
+				}
+				record(start, start + length);
+			}
+		}
+
+		return moves;
+	}
+
+	/**
+	 * Copies the count of each letter in the given Rack
+	 *
+	 * @param myRack the number of each letter in the Rack
+	 */
+	private void countRack(int[] myRack)
+	{
+		rackSize = 0;
+		for (int letter = 0; letter < rack.length; letter++)
+		{
+			rack[letter] = myRack[letter];
+			rackSize += myRack[letter];
+		}
+	}
+
+	/**
+	 * Copies the board and cross checks for the current line and works out
+	 * the anchors
+	 *
+	 * @param board the Tiles already on the board
+	 * @param checks the CrossChecks for the board
+	 */
+	private void setUpLine(BoardModel board, CrossChecks checks)
+	{
+		for (int pos = 0; pos < SIZE; pos++)
+		{
+			int boardRow = direction == 1 ? line : pos;
+			int boardCol = direction == 1 ? pos : line;
+			letters[line][pos] = board.getLetter(boardRow, boardCol);
+			values[line][pos] = board.getValue(boardRow, boardCol);
+			crossChecks[line][pos] = checks.getCheck(direction, boardRow,
+					boardCol);
+			crossScores[line][pos] = checks.getScore(direction, boardRow,
+					boardCol);
+		}
+
+		// An anchor is an empty square next to a Tile in the line or across
+		// it (which is when it has a cross score)
+		for (int pos = 0; pos < SIZE; pos++)
+			anchors[line][pos] = letters[line][pos] == EMPTY
+					&& ((pos > 0 && letters[line][pos - 1] != EMPTY)
+							|| (pos + 1 < SIZE && letters[line][pos + 1] != EMPTY)
+							|| crossScores[line][pos] != CrossChecks.NO_WORD);
+	}
+
+	/**
+	 * Finds every move that places a Tile on the given anchor square. Each
+	 * move is only found from the leftmost anchor it covers.
+	 *
+	 * @param pos the position of the anchor in the current line
+	 */
+	private void searchAnchor(int pos)
+	{
+		anchor = pos;
+		tilesPlaced = 0;
+
+		// Tiles right before the anchor are always part of the word
+		if (pos > 0 && letters[line][pos - 1] != EMPTY)
+		{
+			int start = pos - 1;
+			while (start > 0 && letters[line][start - 1] != EMPTY)
+				start--;
+
+			int node = Lexicon.ROOT;
+			for (int index = start; index < pos && node != -1; index++)
+			{
+				word[index] = letters[line][index];
+				placed[index] = false;
+				node = lexicon.getChild(node, letters[line][index]);
+			}
+			if (node != -1)
+				extendRight(start, pos, node);
+		}
+		// Otherwise build every prefix that fits in the empty squares before
+		// the anchor (up to the last anchor)
+		else
+		{
+			int limit = 0;
+			for (int index = pos - 1; index >= 0
+					&& letters[line][index] == EMPTY && !anchors[line][index]; index--)
+				limit++;
+			leftPart(0, Lexicon.ROOT, limit);
+		}
+	}
+
+	/**
+	 * Builds every prefix from the Rack that goes before the anchor and tries
+	 * to finish each one
+	 *
+	 * @param length the length of the prefix so far
+	 * @param node the Lexicon node for the prefix so far
+	 * @param limit the number of squares left for the prefix
+	 */
+	private void leftPart(int length, int node, int limit)
+	{
+		// Place the prefix before the anchor and finish the word
+		int start = anchor - length;
+		for (int index = 0; index < length; index++)
+		{
+			word[start + index] = prefix[index] & 31;
+			placed[start + index] = true;
+			blank[start + index] = prefix[index] > 31;
+		}
+		extendRight(start, anchor, node);
+
+		if (limit == 0)
+			return;
+
+		int edges = lexicon.getChildren(node);
+		for (int letter = 0; letter < 26; letter++)
+		{
+			if ((edges & (1 << letter)) == 0)
+				continue;
+
+			int child = lexicon.getChild(node, letter);
+			if (rack[letter] > 0)
+			{
+				rack[letter]--;
+				tilesPlaced++;
+				prefix[length] = letter;
+				leftPart(length + 1, child, limit - 1);
+				tilesPlaced--;
+				rack[letter]++;
+			}
+			if (rack[BLANK] > 0 && rack[letter] == 0)
+			{
+				rack[BLANK]--;
+				tilesPlaced++;
+				prefix[length] = letter | 32;
+				leftPart(length + 1, child, limit - 1);
+				tilesPlaced--;
+				rack[BLANK]++;
+			}
+		}
+	}
+
+	/**
+	 * Adds letters after the word so far, using Tiles on the board or from
+	 * the Rack, and records every complete word
+	 *
+	 * @param start the position of the first letter of the word
+	 * @param pos the position of the next letter
+	 * @param node the Lexicon node for the word so far
+	 */
+	private void extendRight(int start, int pos, int node)
+	{
+		// Add a letter from the Rack
+		if (pos == SIZE || letters[line][pos] == EMPTY)
+		{
+			// The word ends here and a Tile has been placed on the anchor
+			if (pos > anchor && lexicon.isWord(node))
+				record(start, pos);
+
+			if (pos == SIZE)
+				return;
+
+			int edges = lexicon.getChildren(node) & crossChecks[line][pos];
+			for (int letter = 0; letter < 26; letter++)
+			{
+				if ((edges & (1 << letter)) == 0)
+					continue;
+
+				int child = lexicon.getChild(node, letter);
+				word[pos] = letter;
+				placed[pos] = true;
+				if (rack[letter] > 0)
+				{
+					rack[letter]--;
+					tilesPlaced++;
+					blank[pos] = false;
+					extendRight(start, pos + 1, child);
+					tilesPlaced--;
+					rack[letter]++;
+				}
+				if (rack[BLANK] > 0 && rack[letter] == 0)
+				{
+					rack[BLANK]--;
+					tilesPlaced++;
+					blank[pos] = true;
+					extendRight(start, pos + 1, child);
+					tilesPlaced--;
+					rack[BLANK]++;
+				}
+			}
+		}
+		// Use the Tile already on the board
+		else
+		{
+			int child = lexicon.getChild(node, letters[line][pos]);
+			if (child != -1)
+			{
+				word[pos] = letters[line][pos];
+				placed[pos] = false;
+				extendRight(start, pos + 1, child);
+			}
+		}
+	}
+
+	/**
+	 * Scores the word from start to end - 1 in the current line and adds it
+	 * to the list of moves
+	 *
+	 * @param start the position of the first letter
+	 * @param end the position after the last letter
+	 */
+	private void record(int start, int end)
+	{
+		int first = start;
+		while (!placed[first])
+			first++;
+
+		// A single Tile is found going both ways, so only keep it once
+		if (direction == 0 && tilesPlaced == 1
+				&& crossScores[line][first] != CrossChecks.NO_WORD)
+			return;
+
+		// A blank can swap squares with a placed Tile of the same letter, so
+		// try every way of placing the blanks
+		boolean[] blanks = blank;
+		int score;
+		if (countSharedLetters(start, end) > 0)
+		{
+			bestScore = -1;
+			placeBlanks(start, end, start);
+			for (int pos = start; pos < end; pos++)
+				if (placed[pos])
+				{
+					blanksLeft[word[pos]] = 0;
+					tilesLeft[word[pos]] = 0;
+				}
+			blanks = bestBlank;
+			score = bestScore;
+		}
+		else
+			score = score(start, end);
+
+		StringBuilder tiles = new StringBuilder(tilesPlaced);
+		StringBuilder fullWord = new StringBuilder(end - start);
+		for (int pos = start; pos < end; pos++)
+		{
+			char letter = (char) ('A' + word[pos]);
+			fullWord.append(letter);
+			if (placed[pos])
+				tiles.append(blanks[pos] ? Character.toLowerCase(letter)
+						: letter);
+		}
+
+		if (direction == 1)
+			moves.add(new Move(line, first, direction, tiles.toString(),
+					fullWord.toString(), score));
+		else
+			moves.add(new Move(first, line, direction, tiles.toString(),
+					fullWord.toString(), score));
+	}
+
+	/**
+	 * Counts the blanks and placed Tiles for each letter a blank stands for
+	 * in the word from start to end - 1
+	 *
+	 * @param start the position of the first letter
+	 * @param end the position after the last letter
+	 * @return the number of placed Tiles (not blanks) with the same letter as
+	 *         a blank
+	 */
+	private int countSharedLetters(int start, int end)
+	{
+		int shared = 0;
+		for (int pos = start; pos < end; pos++)
+			if (placed[pos] && blank[pos])
+				blanksLeft[word[pos]]++;
+		for (int pos = start; pos < end; pos++)
+			if (placed[pos] && !blank[pos] && blanksLeft[word[pos]] > 0)
+			{
+				tilesLeft[word[pos]]++;
+				shared++;
+			}
+
+		// Nothing to try, so the counts are cleared straight away
+		if (shared == 0)
+			for (int pos = start; pos < end; pos++)
+				if (placed[pos])
+					blanksLeft[word[pos]] = 0;
+		return shared;
+	}
+
+	/**
+	 * Tries each way of putting the blanks and placed Tiles back on the
+	 * squares with their letters from the given position on, and keeps the
+	 * blanks with the highest score. There are at most 21 ways with two
+	 * blanks.
+	 *
+	 * @param start the position of the first letter
+	 * @param end the position after the last letter
+	 * @param pos the position to fill next
+	 */
+	private void placeBlanks(int start, int end, int pos)
+	{
+		if (pos == end)
+		{
+			int score = score(start, end);
+			if (score > bestScore)
+			{
+				bestScore = score;
+				System.arraycopy(blank, start, bestBlank, start, end - start);
+			}
+			return;
+		}
+
+		int letter = word[pos];
+		if (!placed[pos] || blanksLeft[letter] + tilesLeft[letter] == 0)
+		{
+			placeBlanks(start, end, pos + 1);
+			return;
+		}
+
+		// Real Tiles go first, so a tie keeps the blanks where they were
+		// found
+		boolean wasBlank = blank[pos];
+		if (tilesLeft[letter] > 0)
+		{
+			tilesLeft[letter]--;
+			blank[pos] = false;
+			placeBlanks(start, end, pos + 1);
+			tilesLeft[letter]++;
+		}
+		if (blanksLeft[letter] > 0)
+		{
+			blanksLeft[letter]--;
+			blank[pos] = true;
+			placeBlanks(start, end, pos + 1);
+			blanksLeft[letter]++;
+		}
+		blank[pos] = wasBlank;
+	}
+
+	/**
+	 * Calculates the score of the word from start to end - 1 in the current
+	 * line, including the words formed across the other lines. Gives the same
+	 * score as calculateScore in the ScrabblePanel, so only the last double or
+	 * triple word square (or blank on a normal square) in the word counts.
+	 *
+	 * @param start the position of the first letter
+	 * @param end the position after the last letter
+	 * @return the score for the move
+	 */
+	private int score(int start, int end)
+	{
+		int totalScore = 0;
+		int wordScore = 0;
+		int bonus = 0;
+
+		for (int pos = start; pos < end; pos++)
+		{
+			// Tiles already on the board have no bonuses
+			if (!placed[pos])
+			{
+				wordScore += values[line][pos];
+				continue;
+			}
+
+			int square = direction == 1 ? BoardModel.getBonus(line, pos)
+					: BoardModel.getBonus(pos, line);
+			int value = blank[pos] ? 0 : BoardModel.VALUES[word[pos]];
+			if (square == 1)
+				value *= 2;
+			else if (square == 2)
+				value *= 3;
+			wordScore += value;
+
+			if (square < 0)
+				bonus = square;
+			else if (blank[pos])
+				bonus = 0;
+
+			// Word formed across the other lines
+			if (crossScores[line][pos] != CrossChecks.NO_WORD)
+			{
+				int crossScore = crossScores[line][pos] + value;
+				if (square == -1)
+					crossScore *= 2;
+				else if (square == -2)
+					crossScore *= 3;
+				totalScore += crossScore;
+			}
+		}
+
+		if (bonus == -1)
+			wordScore *= 2;
+		else if (bonus == -2)
+			wordScore *= 3;
+		totalScore += wordScore;
+
+		// 50 point bonus for using all the Tiles
+		if (tilesPlaced == rackSize)
+			totalScore += 50;
+
+		return totalScore;
+	}
+}
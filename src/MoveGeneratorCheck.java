@@ -0,0 +1,273 @@
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Command-line check that the MoveGenerator finds every useful move with
+ * blanks, puts the blanks on the best squares and scores each move the same
+ * as the GameEngine. Hard plays itself to get positions from real games, and
+ * at each position the player is given Racks with one or two blanks.
+ *
+ * The moves found are compared with a search that tries each blank as every
+ * letter: the blanks are swapped for real Tiles, the moves are found with no
+ * blanks, and then every way of putting the blanks back on squares with
+ * their letters is scored by the GameEngine. A blank is only put back where
+ * the Rack has run out of its letter, since playing the real Tile scores more
+ * and keeps the blank. Both searches must find the same words with the same
+ * Tiles and the same best scores, and no word should be found twice.
+ *
+ * Prints the number of moves compared at each position, and exits with
+ * status 1 if any move was missing, extra or scored differently.
+ *
+ * Usage: java MoveGeneratorCheck [positions] [seed]
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class MoveGeneratorCheck
+{
+	// Racks to try at each position, in turn
+	private static final String[] RACKS = { "?AEINST", "??EIRST", "?LLAEDE",
+			"?EEOOPR", "??SSEEL" };
+
+	// Turns to play between positions checked
+	private static final int TURNS_BETWEEN = 4;
+
+	private static final int BLANK = BoardModel.BLANK;
+
+	private static GameEngine engine;
+	private static MoveGenerator generator;
+	private static int noOfFailures;
+
+	public static void main(String[] args)
+	{
+		int noOfPositions = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		long runSeed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+
+		Lexicon lexicon;
+		try
+		{
+			lexicon = Lexicon.load("dictionary.dawg", "dictionary.txt");
+		}
+		catch (FileNotFoundException exp)
+		{
+			System.out.println("BAD FILE NAME");
+			return;
+		}
+		engine = new GameEngine(lexicon);
+		generator = new MoveGenerator(lexicon);
+		AIPlayer player = new AIPlayer(AIPlayer.HARD, 0,
+				new ParallelMoveGenerator(lexicon, 1), new AnagramIndex(
+						lexicon, GameEngine.RACK_SIZE));
+
+		int positionNo = 0;
+		for (int gameNo = 0; positionNo < noOfPositions; gameNo++)
+		{
+			long seed = Seeds.split(runSeed, gameNo);
+			GameState state = engine.newGame(seed);
+			Random random = Seeds.newRandom(seed, Seeds.FIRST_PLAYER);
+			int turn = 0;
+			while (!state.isOver() && positionNo < noOfPositions)
+			{
+				turn++;
+				Move move = player.chooseMove(state, new Deadline(0), random);
+				if (move == null || engine.play(state, move) < 0)
+					engine.pass(state);
+
+				if (turn % TURNS_BETWEEN == 0 && !state.isOver())
+				{
+					String rack = RACKS[positionNo % RACKS.length];
+					int noOfMoves = check(state, rack);
+					System.out.printf("Game %d turn %d with %s: %d moves%n",
+							gameNo, turn, rack, noOfMoves);
+					positionNo++;
+				}
+			}
+		}
+
+		System.out.printf("%d positions checked, %d failures%n",
+				noOfPositions, noOfFailures);
+		if (noOfFailures > 0)
+			System.exit(1);
+	}
+
+	/**
+	 * Compares the moves found for the given Rack with the moves found by
+	 * trying the blanks as every letter
+	 *
+	 * @param state the game, which is not changed
+	 * @param rackLetters the letters in the Rack, with '?' for blanks
+	 * @return the number of moves found
+	 */
+	private static int check(GameState state, String rackLetters)
+	{
+		int[] rack = new int[BLANK + 1];
+		for (int index = 0; index < rackLetters.length(); index++)
+			rack[Move.findLetter(rackLetters.charAt(index))]++;
+
+		// The moves found with the blanks, which should each be found once
+		HashMap<String, Integer> found = new HashMap<String, Integer>();
+		for (Move nextMove : generator.generate(state.getBoard(), state
+				.getCrossChecks(), rack))
+		{
+			int score = findScore(state, rack, nextMove);
+			if (score != nextMove.getScore())
+				fail("scored " + score + " by the GameEngine", nextMove);
+			if (found.put(getKey(nextMove), nextMove.getScore()) != null)
+				fail("found twice", nextMove);
+		}
+
+		// Try each blank as every letter. The second blank never comes
+		// before the first, so each pair of letters is only tried once.
+		HashMap<String, Integer> expected = new HashMap<String, Integer>();
+		int[] letters = rack.clone();
+		letters[BLANK] = 0;
+		int noOfBlanks = rack[BLANK];
+		for (int first = 0; first < 26; first++)
+		{
+			int lastSecond = noOfBlanks > 1 ? 25 : first;
+			for (int second = first; second <= lastSecond; second++)
+			{
+				int[] trial = letters.clone();
+				trial[first]++;
+				if (noOfBlanks > 1)
+					trial[second]++;
+				for (Move nextMove : generator.generate(state.getBoard(),
+						state.getCrossChecks(), trial))
+					addBlanks(state, rack, nextMove, expected);
+			}
+		}
+
+		for (Map.Entry<String, Integer> nextEntry : expected.entrySet())
+		{
+			Integer score = found.get(nextEntry.getKey());
+			if (score == null)
+				fail("missing", nextEntry.getKey());
+			else if (!score.equals(nextEntry.getValue()))
+				fail("scored " + score + " instead of " + nextEntry.getValue(),
+						nextEntry.getKey());
+		}
+		for (String nextKey : found.keySet())
+			if (!expected.containsKey(nextKey))
+				fail("not expected", nextKey);
+		return found.size();
+	}
+
+	/**
+	 * Puts the blanks back into a move found with real Tiles in their place,
+	 * in every way, and keeps the best score for each set of Tiles
+	 *
+	 * @param state the game
+	 * @param rack the Rack with the blanks
+	 * @param move the move found with no blanks
+	 * @param expected the best score for each word and set of Tiles
+	 */
+	private static void addBlanks(GameState state, int[] rack, Move move,
+			HashMap<String, Integer> expected)
+	{
+		// A blank is needed for each Tile the Rack has run out of
+		char[] tiles = move.getTiles().toCharArray();
+		int[] needed = new int[26];
+		for (char nextTile : tiles)
+			needed[nextTile - 'A']++;
+		int noOfBlanks = 0;
+		for (int letter = 0; letter < 26; letter++)
+		{
+			needed[letter] = Math.max(0, needed[letter] - rack[letter]);
+			noOfBlanks += needed[letter];
+		}
+		if (noOfBlanks > rack[BLANK])
+			return;
+		addBlanks(state, rack, move, tiles, needed, noOfBlanks, 0, expected);
+	}
+
+	/**
+	 * Tries each way of putting the blanks on the Tiles from the given index
+	 * on
+	 *
+	 * @param state the game
+	 * @param rack the Rack with the blanks
+	 * @param move the move found with no blanks
+	 * @param tiles the Tiles of the move, with the blanks so far in lower case
+	 * @param needed the number of blanks still to put on each letter
+	 * @param blanksLeft the number of blanks still to put on any letter
+	 * @param index the index of the next Tile
+	 * @param expected the best score for each word and set of Tiles
+	 */
+	private static void addBlanks(GameState state, int[] rack, Move move,
+			char[] tiles, int[] needed, int blanksLeft, int index,
+			HashMap<String, Integer> expected)
+	{
+		// Every blank has to be put on a Tile
+		if (blanksLeft > tiles.length - index)
+			return;
+		if (index == tiles.length)
+		{
+			Move blankMove = new Move(move.getRow(), move.getCol(), move
+					.getDirection(), new String(tiles), move.getWord(), 0);
+			int score = findScore(state, rack, blankMove);
+			String key = getKey(blankMove);
+			Integer best = expected.get(key);
+			if (best == null || score > best)
+				expected.put(key, score);
+			return;
+		}
+
+		addBlanks(state, rack, move, tiles, needed, blanksLeft, index + 1,
+				expected);
+		int letter = tiles[index] - 'A';
+		if (needed[letter] > 0)
+		{
+			needed[letter]--;
+			tiles[index] = Character.toLowerCase(tiles[index]);
+			addBlanks(state, rack, move, tiles, needed, blanksLeft - 1,
+					index + 1, expected);
+			tiles[index] = Character.toUpperCase(tiles[index]);
+			needed[letter]++;
+		}
+	}
+
+	/**
+	 * Scores the given move with the GameEngine
+	 *
+	 * @param state the game, which is not changed
+	 * @param rack the Rack to make the move from
+	 * @param move the move
+	 * @return the score, or a negative number if the move is not valid
+	 */
+	private static int findScore(GameState state, int[] rack, Move move)
+	{
+		GameState trial = new GameState(state, new Random(0));
+		trial.racks[trial.getCurrentPlayer()] = new RackModel(rack);
+		return engine.play(trial, move);
+	}
+
+	/**
+	 * Gets the key for a move: where it goes, the word and the Tiles used, in
+	 * any order
+	 *
+	 * @param move the move
+	 * @return the key
+	 */
+	private static String getKey(Move move)
+	{
+		char[] tiles = move.getTiles().toCharArray();
+		Arrays.sort(tiles);
+		return move.getRow() + " " + move.getCol() + " " + move.getDirection()
+				+ " " + move.getWord() + " " + new String(tiles);
+	}
+
+	/**
+	 * Reports a failure
+	 *
+	 * @param problem what went wrong
+	 * @param move the move it went wrong for
+	 */
+	private static void fail(String problem, Object move)
+	{
+		System.out.println("  " + move + ": " + problem);
+		noOfFailures++;
+	}
+}
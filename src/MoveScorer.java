@@ -0,0 +1,281 @@
+/**
+ * Checks if the Tiles placed on the board form a valid move and calculates the
+ * score for the move, without creating any objects. All the working space is
+ * set up once in the constructor, so the AI can score as many moves as it likes
+ * without creating garbage. Works on BoardModels, so no Swing objects are
+ * needed. The words across the move are checked with the CrossChecks kept with
+ * the board, so only the main word is followed through the Lexicon. Includes
+ * methods to score a move and to get the word that made the last move invalid.
+ *
+ * Gives the same scores as the rules makeMove has always used: letter bonuses
+ * only count for Tiles placed this turn, only the last double or triple word
+ * square (or blank on a normal square) in a word counts, and using every Tile
+ * on the Rack is worth 50 points.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class MoveScorer
+{
+	// Values returned for invalid moves, the same as makeMove
+	public static final int NO_TILES = -1;
+	public static final int NOT_ON_CENTRE = -2;
+	public static final int NOT_IN_LINE = -3;
+	public static final int NOT_ATTACHED = -4;
+	public static final int INVALID_WORD = -5;
+
+	private static final int SIZE = BoardModel.SIZE;
+
+	private Lexicon lexicon;
+
+	// Working space for the Tiles placed this turn and the last invalid word
+	private int[] placedRows;
+	private int[] placedCols;
+	private char[] invalidWord;
+	private int invalidLength;
+
+	/**
+	 * Constructs a MoveScorer
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 */
+	public MoveScorer(Lexicon lexicon)
+	{
+		this.lexicon = lexicon;
+		placedRows = new int[SIZE * SIZE];
+		placedCols = new int[SIZE * SIZE];
+		invalidWord = new char[SIZE];
+	}
+
+	/**
+	 * Checks if the Tiles placed this turn form a valid move and calculates
+	 * the score for the move
+	 *
+	 * @param board the Tiles placed before this turn
+	 * @param checks the CrossChecks for the board
+	 * @param movesBoard the Tiles placed this turn
+	 * @param firstMove true if this is the first move of the game
+	 * @param tilesLeft the number of Tiles left on the Rack of the player
+	 *            making the move
+	 * @return the score for the move (>= 0) if it is valid, NO_TILES if no
+	 *         Tiles were placed, NOT_ON_CENTRE if the first move does not
+	 *         cover the star, NOT_IN_LINE if the Tiles are not in the same row
+	 *         or column or are not attached, NOT_ATTACHED if the Tiles are not
+	 *         attached to existing Tiles, and INVALID_WORD if a word formed is
+	 *         not in the Lexicon
+	 */
+	public int score(BoardModel board, CrossChecks checks,
+			BoardModel movesBoard, boolean firstMove, int tilesLeft)
+	{
+		// Find the Tiles placed this turn, from the top left
+		int noOfPlaced = 0;
+		for (int row = 0; row < SIZE; row++)
+			for (int col = 0; col < SIZE; col++)
+				if (movesBoard.hasTile(row, col))
+				{
+					placedRows[noOfPlaced] = row;
+					placedCols[noOfPlaced] = col;
+					noOfPlaced++;
+				}
+
+		if (noOfPlaced == 0)
+			return NO_TILES;
+
+		if (firstMove && !movesBoard.hasTile(SIZE / 2, SIZE / 2))
+			return NOT_ON_CENTRE;
+
+		// Find the direction (1 across, 0 down). A single Tile goes across if
+		// it is next to a Tile across, otherwise down if it is next to a Tile
+		// down
+		int firstRow = placedRows[0];
+		int firstCol = placedCols[0];
+		int direction;
+		if (noOfPlaced == 1)
+		{
+			if (board.hasTile(firstRow, firstCol - 1)
+					|| board.hasTile(firstRow, firstCol + 1))
+				direction = 1;
+			else if (board.hasTile(firstRow - 1, firstCol)
+					|| board.hasTile(firstRow + 1, firstCol))
+				direction = 0;
+			else
+				direction = 1;
+		}
+		else if (placedRows[1] == firstRow)
+			direction = 1;
+		else if (placedCols[1] == firstCol)
+			direction = 0;
+		else
+			return NOT_IN_LINE;
+
+		// Every Tile must be in the same line, with no gaps between them
+		int lastRow = placedRows[noOfPlaced - 1];
+		int lastCol = placedCols[noOfPlaced - 1];
+		if ((direction == 1 && lastRow != firstRow)
+				|| (direction == 0 && lastCol != firstCol))
+			return NOT_IN_LINE;
+		for (int index = 1; index < noOfPlaced; index++)
+			if ((direction == 1 && placedRows[index] != firstRow)
+					|| (direction == 0 && placedCols[index] != firstCol))
+				return NOT_IN_LINE;
+		for (int row = firstRow, col = firstCol; row <= lastRow
+				&& col <= lastCol; row += 1 - direction, col += direction)
+			if (!board.hasTile(row, col) && !movesBoard.hasTile(row, col))
+				return NOT_IN_LINE;
+
+		// After the first move, the Tiles must touch a Tile already on the
+		// board
+		if (!firstMove)
+		{
+			boolean attached = false;
+			for (int index = 0; index < noOfPlaced && !attached; index++)
+			{
+				int row = placedRows[index];
+				int col = placedCols[index];
+				attached = board.hasTile(row - 1, col)
+						|| board.hasTile(row + 1, col)
+						|| board.hasTile(row, col - 1)
+						|| board.hasTile(row, col + 1);
+			}
+			if (!attached)
+				return NOT_ATTACHED;
+		}
+
+		// Score the word along the direction of the move
+		int totalScore = scoreWord(board, movesBoard, firstRow, firstCol,
+				direction, true);
+		if (totalScore == INVALID_WORD)
+			return INVALID_WORD;
+
+		// Score the words across each Tile placed
+		for (int index = 0; index < noOfPlaced; index++)
+		{
+			int row = placedRows[index];
+			int col = placedCols[index];
+			int crossScore = checks.getScore(direction, row, col);
+			if (crossScore == CrossChecks.NO_WORD)
+				continue;
+
+			// Follow the word through the Lexicon only to report it
+			int letter = movesBoard.getLetter(row, col);
+			if ((checks.getCheck(direction, row, col) & (1 << letter)) == 0)
+				return scoreWord(board, movesBoard, row, col, 1 - direction,
+						false);
+
+			int value = movesBoard.getValue(row, col);
+			int square = BoardModel.getBonus(row, col);
+			if (square == 1)
+				value *= 2;
+			else if (square == 2)
+				value *= 3;
+			crossScore += value;
+			if (square == -1)
+				crossScore *= 2;
+			else if (square == -2)
+				crossScore *= 3;
+			totalScore += crossScore;
+		}
+
+		// 50 point bonus if all Tiles were used
+		if (tilesLeft == 0)
+			totalScore += 50;
+
+		return totalScore;
+	}
+
+	/**
+	 * Gets the word that made the last move scored invalid
+	 *
+	 * @return the invalid word
+	 */
+	public String getInvalidWord()
+	{
+		return new String(invalidWord, 0, invalidLength);
+	}
+
+	/**
+	 * Checks the word that goes through the given square in the given
+	 * direction and calculates its score
+	 *
+	 * @param board the Tiles placed before this turn
+	 * @param movesBoard the Tiles placed this turn
+	 * @param row the row of a Tile placed this turn
+	 * @param col the column of a Tile placed this turn
+	 * @param direction 1 to check across, 0 to check down
+	 * @param mainWord true if this is the word along the direction of the
+	 *            move, false if it is a word across the move (which only
+	 *            counts if there are other Tiles in it). Only one Tile placed
+	 *            this turn can be in a word across the move.
+	 * @return the score of the word, 0 if there is no word across the move,
+	 *         or INVALID_WORD if the word is not in the Lexicon
+	 */
+	private int scoreWord(BoardModel board, BoardModel movesBoard, int row,
+			int col, int direction, boolean mainWord)
+	{
+		int rowStep = 1 - direction;
+		int colStep = direction;
+
+		// Go back to the start of the word
+		while (board.hasTile(row - rowStep, col - colStep))
+		{
+			row -= rowStep;
+			col -= colStep;
+		}
+
+		// A Tile with no other Tiles across it does not form a word
+		if (!mainWord && !board.hasTile(row + rowStep, col + colStep)
+				&& movesBoard.hasTile(row, col))
+			return 0;
+
+		int wordScore = 0;
+		int bonus = 0;
+		int node = Lexicon.ROOT;
+		invalidLength = 0;
+		while (row < SIZE && col < SIZE
+				&& (board.hasTile(row, col) || movesBoard.hasTile(row, col)))
+		{
+			BoardModel tiles = board;
+			boolean placed = !board.hasTile(row, col);
+			if (placed)
+				tiles = movesBoard;
+
+			int letter = tiles.getLetter(row, col);
+			if (invalidLength < invalidWord.length)
+			{
+				invalidWord[invalidLength] = (char) ('A' + letter);
+				invalidLength++;
+			}
+			if (node != -1)
+				node = lexicon.getChild(node, letter);
+
+			// Bonuses only count for Tiles placed this turn
+			int value = tiles.getValue(row, col);
+			if (placed)
+			{
+				int square = BoardModel.getBonus(row, col);
+				if (square == 1)
+					value *= 2;
+				else if (square == 2)
+					value *= 3;
+
+				if (square < 0)
+					bonus = square;
+				else if (tiles.isBlank(row, col))
+					bonus = 0;
+			}
+			wordScore += value;
+
+			row += rowStep;
+			col += colStep;
+		}
+
+		if (node == -1 || !lexicon.isWord(node))
+			return INVALID_WORD;
+
+		if (bonus == -1)
+			wordScore *= 2;
+		else if (bonus == -2)
+			wordScore *= 3;
+		return wordScore;
+	}
+}
@@ -0,0 +1,323 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Finds moves using a ForkJoinPool, with each row and column searched as its
+ * own task. Each thread has its own MoveGenerator, since a MoveGenerator keeps
+ * its working space between searches. Includes methods to find every move, to
+ * find the best move, to find the first moves of the game, and to get the
+ * number of threads used.
+ *
+ * A search can be given a Deadline. The most promising lines are searched
+ * first, and once time is up no more anchors are started, so the moves found
+ * so far are handed back. The most promising line is always finished. The
+ * moves come back in the same order as MoveGenerator.generate, so a search
+ * that finishes in time chooses the same move no matter how many threads
+ * there are.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class ParallelMoveGenerator
+{
+	private static final int SIZE = BoardModel.SIZE;
+
+	// Every row, then every column
+	private static final int NO_OF_LINES = 2 * SIZE;
+
+	private ForkJoinPool pool;
+	private ThreadLocal<MoveGenerator> generators;
+
+	/**
+	 * Constructs a ParallelMoveGenerator
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 * @param parallelism the number of threads to search with
+	 */
+	public ParallelMoveGenerator(Lexicon lexicon, int parallelism)
+	{
+		this(lexicon, parallelism, Thread.NORM_PRIORITY);
+	}
+
+	/**
+	 * Constructs a ParallelMoveGenerator whose threads have the given
+	 * priority
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 * @param parallelism the number of threads to search with
+	 * @param priority the priority of the threads
+	 */
+	public ParallelMoveGenerator(final Lexicon lexicon, int parallelism,
+			final int priority)
+	{
+		pool = new ForkJoinPool(parallelism,
+				new ForkJoinPool.ForkJoinWorkerThreadFactory()
+				{
+					public ForkJoinWorkerThread newThread(ForkJoinPool pool)
+					{
+						ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+								.newThread(pool);
+						thread.setPriority(priority);
+						return thread;
+					}
+				}, null, false);
+		generators = new ThreadLocal<MoveGenerator>()
+		{
+			protected MoveGenerator initialValue()
+			{
+				return new MoveGenerator(lexicon);
+			}
+		};
+	}
+
+	/**
+	 * Finds every valid move that can be made with the Tiles in the given
+	 * Rack. Precondition: there is at least one Tile on the board
+	 *
+	 * @param board the Tiles already on the board
+	 * @param checks the CrossChecks for the board
+	 * @param myRack the number of each letter in the Rack (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @return a list of every valid move and its score
+	 */
+	public ArrayList<Move> generate(BoardModel board, CrossChecks checks,
+			int[] myRack)
+	{
+		return generate(board, checks, myRack, new Deadline(0));
+	}
+
+	/**
+	 * Finds the valid moves that can be made with the Tiles in the given Rack
+	 * before the given Deadline. Precondition: there is at least one Tile on
+	 * the board
+	 *
+	 * @param board the Tiles already on the board
+	 * @param checks the CrossChecks for the board
+	 * @param myRack the number of each letter in the Rack (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @param deadline when to stop searching
+	 * @return a list of the valid moves found and their scores
+	 */
+	public ArrayList<Move> generate(BoardModel board, CrossChecks checks,
+			int[] myRack, Deadline deadline)
+	{
+		ArrayList<Move>[] lineMoves = search(board, checks, myRack, deadline,
+				false);
+		ArrayList<Move> moves = new ArrayList<Move>();
+		for (ArrayList<Move> nextLine : lineMoves)
+			if (nextLine != null)
+				moves.addAll(nextLine);
+		return moves;
+	}
+
+	/**
+	 * Finds the move with the highest score that can be made with the Tiles
+	 * in the given Rack. Precondition: there is at least one Tile on the board
+	 *
+	 * @param board the Tiles already on the board
+	 * @param checks the CrossChecks for the board
+	 * @param myRack the number of each letter in the Rack (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @return the move with the highest score, or null if there are no valid
+	 *         moves
+	 */
+	public Move findBest(BoardModel board, CrossChecks checks, int[] myRack)
+	{
+		return findBest(board, checks, myRack, new Deadline(0));
+	}
+
+	/**
+	 * Finds the move with the highest score that can be made with the Tiles
+	 * in the given Rack before the given Deadline. Each line only hands back
+	 * its own best move. Precondition: there is at least one Tile on the board
+	 *
+	 * @param board the Tiles already on the board
+	 * @param checks the CrossChecks for the board
+	 * @param myRack the number of each letter in the Rack (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @param deadline when to stop searching
+	 * @return the move with the highest score found, or null if no valid
+	 *         moves were found
+	 */
+	public Move findBest(BoardModel board, CrossChecks checks, int[] myRack,
+			Deadline deadline)
+	{
+		ArrayList<Move>[] lineMoves = search(board, checks, myRack, deadline,
+				true);
+		ArrayList<Move> best = new ArrayList<Move>();
+		for (ArrayList<Move> nextLine : lineMoves)
+			if (nextLine != null)
+				best.addAll(nextLine);
+		return MoveGenerator.findBest(best);
+	}
+
+	/**
+	 * Finds every valid first move that can be made with the Tiles in the
+	 * given Rack. There is only one line to search, so this is done on the
+	 * calling thread.
+	 *
+	 * @param myRack the number of each letter in the Rack (0-25 for A-Z, 26
+	 *            for blanks)
+	 * @param anagrams the index of words for each set of letters
+	 * @return a list of every valid first move and its score
+	 */
+	public ArrayList<Move> generateFirstMove(int[] myRack,
+			AnagramIndex anagrams)
+	{
+		return generators.get().generateFirstMove(myRack, anagrams);
+	}
+
+	/**
+	 * Gets the number of threads used to search
+	 *
+	 * @return the number of threads
+	 */
+	public int getParallelism()
+	{
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Searches the lines with anchors, most promising first
+	 *
+	 * @param board the Tiles already on the board
+	 * @param checks the CrossChecks for the board
+	 * @param myRack the number of each letter in the Rack
+	 * @param deadline when to stop searching
+	 * @param bestOnly true to keep only the best move from each line
+	 * @return the moves found in each line (0-14 for rows, 15-29 for
+	 *         columns), null for lines that were not searched
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private ArrayList<Move>[] search(BoardModel board, CrossChecks checks,
+			int[] myRack, Deadline deadline, boolean bestOnly)
+	{
+		// Rate each line
+		int rackSize = 0;
+		for (int count : myRack)
+			rackSize += count;
+		MoveGenerator generator = generators.get();
+		final int[] ratings = new int[NO_OF_LINES];
+		int noOfLines = 0;
+		for (int line = 0; line < NO_OF_LINES; line++)
+		{
+			ratings[line] = generator.rateLine(board, checks, rackSize,
+					line < SIZE ? 1 : 0, line % SIZE);
+			if (ratings[line] > 0)
+				noOfLines++;
+		}
+
+		// Put the lines worth searching in order, best first
+		Integer[] order = new Integer[noOfLines];
+		int index = 0;
+		for (int line = 0; line < NO_OF_LINES; line++)
+			if (ratings[line] > 0)
+			{
+				order[index] = line;
+				index++;
+			}
+		Arrays.sort(order, new Comparator<Integer>()
+		{
+			public int compare(Integer first, Integer second)
+			{
+				return ratings[second] - ratings[first];
+			}
+		});
+
+		ArrayList<Move>[] lineMoves = new ArrayList[NO_OF_LINES];
+		if (noOfLines > 0)
+			pool.invoke(new LineTask(board, checks, myRack, deadline,
+					bestOnly, order, 0, noOfLines, lineMoves));
+		return lineMoves;
+	}
+
+	/**
+	 * Searches a range of lines, splitting it in half until there is one line
+	 * left. The first half is searched on this thread, so the lines are
+	 * started in order when there are few threads.
+	 */
+	private class LineTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private BoardModel board;
+		private CrossChecks checks;
+		private int[] myRack;
+		private Deadline deadline;
+		private boolean bestOnly;
+		private Integer[] order;
+		private int first;
+		private int last;
+		private ArrayList<Move>[] lineMoves;
+
+		/**
+		 * Constructs a LineTask
+		 *
+		 * @param board the Tiles already on the board
+		 * @param checks the CrossChecks for the board
+		 * @param myRack the number of each letter in the Rack
+		 * @param deadline when to stop searching
+		 * @param bestOnly true to keep only the best move from each line
+		 * @param order the lines to search, in order
+		 * @param first the index in order of the first line to search
+		 * @param last the index in order after the last line to search
+		 * @param lineMoves where to put the moves found in each line
+		 */
+		LineTask(BoardModel board, CrossChecks checks, int[] myRack,
+				Deadline deadline, boolean bestOnly, Integer[] order,
+				int first, int last, ArrayList<Move>[] lineMoves)
+		{
+			this.board = board;
+			this.checks = checks;
+			this.myRack = myRack;
+			this.deadline = deadline;
+			this.bestOnly = bestOnly;
+			this.order = order;
+			this.first = first;
+			this.last = last;
+			this.lineMoves = lineMoves;
+		}
+
+		/**
+		 * Searches the lines
+		 */
+		protected void compute()
+		{
+			if (last - first == 1)
+			{
+				// The most promising line is always finished, so there is a
+				// move to make even if time runs out right away
+				Deadline lineDeadline = deadline;
+				if (first == 0)
+					lineDeadline = new Deadline(0);
+				else if (deadline.isOver())
+					return;
+
+				int line = order[first];
+				ArrayList<Move> moves = generators.get().generateLine(board,
+						checks, myRack, line < SIZE ? 1 : 0, line % SIZE,
+						lineDeadline);
+				if (bestOnly && moves.size() > 1)
+				{
+					Move best = MoveGenerator.findBest(moves);
+					moves = new ArrayList<Move>(1);
+					moves.add(best);
+				}
+				lineMoves[line] = moves;
+				return;
+			}
+
+			int middle = (first + last) / 2;
+			LineTask second = new LineTask(board, checks, myRack, deadline,
+					bestOnly, order, middle, last, lineMoves);
+			second.fork();
+			new LineTask(board, checks, myRack, deadline, bestOnly, order,
+					first, middle, lineMoves).compute();
+			second.join();
+		}
+	}
+}
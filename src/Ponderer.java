@@ -0,0 +1,281 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Thinks about the AI's reply while the player is choosing their move
+ * (pondering), so the AI can answer straight away. Includes methods to start
+ * and stop pondering, to clear it for a new game, and to get the reply worked
+ * out for a position.
+ *
+ * While pondering, the moves the player is most likely to make are tried
+ * from the highest score down, and the AI chooses its reply to each one on a
+ * background thread, filling the MoveCache on the way. When the player's move
+ * is played, pondering stops, and if the player made one of the moves tried,
+ * the reply found for it is used. Otherwise the work is thrown away.
+ *
+ * A reply is only used for a position that matches in everything the AI
+ * looks at: the board, its own Rack, the number of Tiles in the Bag, the
+ * scores and the passes in a row. The Tiles the AI hasn't seen follow from
+ * the board and its Rack, so it doesn't matter which Tiles the player drew.
+ * The AI chooses from the same random numbers and with the same time limit
+ * while pondering as it would after the move.
+ *
+ * Pondering has its own low-priority threads, fewer than the AI uses on its
+ * turn, so the window keeps a core to itself while the player thinks. A
+ * search cut short by the time limit gets less far on fewer threads, so a
+ * pondered reply can be a little weaker than one found after the move. The
+ * Ponderer's Simulator and EndgameSolver use the usual limits, so they match
+ * the AI's if it uses the usual limits too.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class Ponderer
+{
+	// Number of the player's moves to try, most likely first
+	public static final int PREDICTIONS = 20;
+
+	private Lexicon lexicon;
+	private AnagramIndex anagrams;
+	private ParallelMoveGenerator generator;
+	private Simulator simulator;
+	private EndgameSolver solver;
+	private Session session;
+
+	/**
+	 * Constructs a Ponderer
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 * @param anagrams the index of words for the first move
+	 * @param parallelism the number of threads to ponder with
+	 */
+	public Ponderer(Lexicon lexicon, AnagramIndex anagrams, int parallelism)
+	{
+		this.lexicon = lexicon;
+		this.anagrams = anagrams;
+		generator = new ParallelMoveGenerator(lexicon, parallelism,
+				Thread.MIN_PRIORITY);
+		simulator = new Simulator(lexicon, parallelism,
+				Simulator.MAX_ITERATIONS, Thread.MIN_PRIORITY);
+		solver = new EndgameSolver(lexicon, parallelism,
+				EndgameSolver.MAX_DEPTH, Thread.MIN_PRIORITY);
+	}
+
+	/**
+	 * Starts pondering on the player's turn, stopping any pondering before
+	 *
+	 * @param game the game, which is copied so it can keep changing
+	 * @param aiPlayer the AI that will reply, which is copied to search on
+	 *            the Ponderer's threads
+	 * @param seed the seed for the AI's random numbers on its next turn
+	 */
+	public void start(GameState game, AIPlayer aiPlayer, long seed)
+	{
+		stop();
+		session = new Session(new GameState(game, Seeds.newRandom(seed,
+				Seeds.BAG)), new AIPlayer(aiPlayer, generator, simulator,
+				solver), seed);
+		Thread thread = new Thread(session, "Ponderer");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+
+	/**
+	 * Stops pondering. Replies found so far are kept until pondering starts
+	 * again.
+	 */
+	public void stop()
+	{
+		if (session != null)
+			session.stop();
+	}
+
+	/**
+	 * Stops pondering and forgets the replies and endgame positions worked
+	 * out, ready for a new game
+	 */
+	public void clear()
+	{
+		stop();
+		session = null;
+		solver.clear();
+	}
+
+	/**
+	 * Gets the reply worked out for the given position.
+	 * Precondition: pondering has been stopped
+	 *
+	 * @param game the game, with the AI to move
+	 * @return the position's reply, or null if it wasn't pondered
+	 */
+	public Reply getReply(GameState game)
+	{
+		if (session == null)
+			return null;
+		return session.getReply(game);
+	}
+
+	/**
+	 * A reply the AI chose while pondering
+	 */
+	public static class Reply
+	{
+		private GameState position;
+		private Move move;
+
+		/**
+		 * Constructs a Reply
+		 *
+		 * @param position the position the AI replied to
+		 * @param move the AI's move, or null to pass
+		 */
+		Reply(GameState position, Move move)
+		{
+			this.position = position;
+			this.move = move;
+		}
+
+		/**
+		 * Gets the AI's move
+		 *
+		 * @return the move, or null to pass
+		 */
+		public Move getMove()
+		{
+			return move;
+		}
+
+		/**
+		 * Checks if this reply was worked out for the given position
+		 *
+		 * @param game the game, with the AI to move
+		 * @return true if the AI would see the same position, false
+		 *         otherwise
+		 */
+		boolean matches(GameState game)
+		{
+			for (int player = 0; player < GameState.PLAYERS; player++)
+				if (game.getScore(player) != position.getScore(player))
+					return false;
+			return game.getHash() == position.getHash()
+					&& game.tilesInBag() == position.tilesInBag()
+					&& game.getPassCount() == position.getPassCount()
+					&& game.isOver() == position.isOver();
+		}
+	}
+
+	/**
+	 * Pondering for one of the player's turns, on its own thread
+	 */
+	private class Session implements Runnable
+	{
+		private GameState game;
+		private AIPlayer aiPlayer;
+		private long seed;
+		private ArrayList<Reply> replies = new ArrayList<Reply>();
+		private volatile boolean stopped;
+		private Deadline deadline;
+
+		/**
+		 * Constructs a Session
+		 *
+		 * @param game a copy of the game, with the player to move
+		 * @param aiPlayer the AI that will reply
+		 * @param seed the seed for the AI's random numbers on its next turn
+		 */
+		Session(GameState game, AIPlayer aiPlayer, long seed)
+		{
+			this.game = game;
+			this.aiPlayer = aiPlayer;
+			this.seed = seed;
+		}
+
+		/**
+		 * Tries the player's most likely moves and finds the AI's reply to
+		 * each one
+		 */
+		public void run()
+		{
+			GameEngine engine = new GameEngine(lexicon);
+			for (Move nextMove : findLikelyMoves())
+			{
+				GameState position = new GameState(game, Seeds.newRandom(seed,
+						Seeds.BAG));
+				if (engine.play(position, nextMove) < 0 || position.isOver())
+					continue;
+
+				// Give the reply the same time it would have after the move
+				Deadline replyDeadline = new Deadline(aiPlayer.getTimeLimit());
+				synchronized (this)
+				{
+					if (stopped)
+						return;
+					deadline = replyDeadline;
+				}
+				Move reply = aiPlayer.chooseMove(position, replyDeadline,
+						new Random(seed));
+
+				// A reply cut short by stopping is not kept
+				synchronized (this)
+				{
+					if (stopped)
+						return;
+					replies.add(new Reply(position, reply));
+				}
+			}
+		}
+
+		/**
+		 * Stops pondering
+		 */
+		synchronized void stop()
+		{
+			stopped = true;
+			if (deadline != null)
+				deadline.stop();
+		}
+
+		/**
+		 * Gets the reply worked out for the given position
+		 *
+		 * @param game the game, with the AI to move
+		 * @return the position's reply, or null if it wasn't pondered
+		 */
+		synchronized Reply getReply(GameState game)
+		{
+			for (Reply nextReply : replies)
+				if (nextReply.matches(game))
+					return nextReply;
+			return null;
+		}
+
+		/**
+		 * Finds the player's moves with the highest scores
+		 *
+		 * @return the moves, from the highest score down
+		 */
+		private ArrayList<Move> findLikelyMoves()
+		{
+			int[] rack = game.getRack(game.getCurrentPlayer());
+			ArrayList<Move> moves;
+			if (game.isFirstMove())
+				moves = generator.generateFirstMove(rack, anagrams);
+			else
+				moves = generator.generate(game.getBoard(),
+						game.getCrossChecks(), rack);
+			Collections.sort(moves, new Comparator<Move>()
+			{
+				public int compare(Move first, Move second)
+				{
+					return second.getScore() - first.getScore();
+				}
+			});
+			if (moves.size() > PREDICTIONS)
+				return new ArrayList<Move>(moves.subList(0, PREDICTIONS));
+			return moves;
+		}
+	}
+}
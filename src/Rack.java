@@ -3,6 +3,7 @@ import java.awt.Image;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.Random;
 
 import javax.swing.ImageIcon;
 
@@ -12,8 +13,8 @@ import javax.swing.ImageIcon;
  * the Rack, find how many Tiles are remaining in the Rack, add a Tile to the
  * Rack, remove a Tile with a given index or given Tile to remove, see if a
  * Point is contained in the Rack, get the Position of the Rack, pick up a Tile
- * from the rack, fill the Rack with Tiles, clear the Rack, draw the Rack, and
- * return a String representation of the Rack.
+ * from the rack, clear the Rack, match the Rack to a RackModel,
+ * draw the Rack, and return a String representation of the Rack.
  * 
  * @author Jennifer Chan
  * @version 25 December 2014 merry christmas ya filthy animal
@@ -70,10 +71,31 @@ public class Rack
 		return null;
 	}
 
+	/**
+	 * Finds a blank Tile, or a Tile with the given letter that is not a blank,
+	 * if it is in the player's Rack
+	 * 
+	 * @param letter the given letter of the Tile to find
+	 * @param isBlank true to find a blank Tile (with any letter), false to find
+	 *            a Tile with the given letter that is not a blank
+	 * @return the matching Tile from this Rack, or null if there is none
+	 */
+	public Tile getTile(char letter, boolean isBlank)
+	{
+		for (Tile nextTile : myRack)
+			if (nextTile.isBlank() == isBlank
+					&& (isBlank || nextTile.getLetter() == letter))
+				return nextTile;
+
+		return null;
+	}
+
 	/**
 	 * Shuffles the Tiles in the Rack using the Fisher-Yates shuffle
+	 * 
+	 * @param random the random numbers to shuffle with
 	 */
-	public void shuffle()
+	public void shuffle(Random random)
 	{
 		// Racks with 1 or less Tiles cannot be shuffled
 		if (myRack.size() > 1)
@@ -82,7 +104,7 @@ public class Rack
 			{
 				// Find a random Tile between the current Tile and the last Tile
 				// in the rack
-				int switchIndex = (int) (Math.random() * (myRack.size() - currentTile))
+				int switchIndex = random.nextInt(myRack.size() - currentTile)
 						+ currentTile;
 
 				// Switch the current Tile and the random Tile
@@ -112,6 +134,47 @@ public class Rack
 		return myRack.size();
 	}
 
+	/**
+	 * Changes the Tiles in this Rack to match the letters in the given
+	 * RackModel. Tiles with letters that are no longer in the RackModel are
+	 * taken off, and new Tiles are added for the letters that are missing.
+	 *
+	 * @param model the letters the Rack should hold
+	 */
+	public void match(RackModel model)
+	{
+		int[] letters = model.getCounts();
+
+		// Keep the Tiles that are still in the RackModel
+		for (int index = myRack.size() - 1; index >= 0; index--)
+		{
+			int letter = letterOf(myRack.get(index));
+			if (letters[letter] > 0)
+				letters[letter]--;
+			else
+				removeTile(index);
+		}
+
+		// Add the new Tiles
+		for (int letter = 0; letter < letters.length; letter++)
+			for (int tileNo = 0; tileNo < letters[letter]; tileNo++)
+				addTile(new Tile(position, (char) ('A' + letter),
+						BoardModel.VALUES[letter]));
+	}
+
+	/**
+	 * Finds the letter of the given Tile for a RackModel
+	 *
+	 * @param tile the Tile
+	 * @return 0-25 for A-Z, 26 for a blank Tile
+	 */
+	private static int letterOf(Tile tile)
+	{
+		if (tile.isBlank())
+			return BoardModel.BLANK;
+		return tile.getLetter() - 'A';
+	}
+
 	/**
 	 * Adds the given Tile to the rack
 	 * 
@@ -221,15 +284,6 @@ public class Rack
 		return null;
 	}
 
-	/**
-	 * Fills the rack so it contains 7 Tiles
-	 */
-	public void fillRack(Bag myBag)
-	{
-		while (myRack.size() < 7 && myBag.tilesLeft() >= 1)
-			this.addTile(myBag.dealTile());
-	}
-
 	/**
 	 * Clears the Rack
 	 */
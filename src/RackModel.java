@@ -0,0 +1,232 @@
+/**
+ * Keeps track of the letters in a Rack as the number of each letter (0-25 for
+ * A-Z, 26 for blanks), for the rules and the AI. Adding and removing a Tile
+ * takes the same time no matter how many Tiles are in the Rack. Includes
+ * methods to add and remove a Tile, count the Tiles of a letter, find the
+ * number of Tiles, get the key for the Rack or for the Tiles left after a
+ * move, get the hash of the Rack, and return a String representation of the
+ * Rack.
+ *
+ * Every set of letters that fits in a Rack has its own 64-bit key, whatever
+ * order the Tiles are in, so the key can be used to look up values worked out
+ * for a Rack or for the Tiles kept after a move (the leave). The key counts
+ * each letter in a mixed base, with one digit for each letter that goes up to
+ * the most Tiles of that letter a Rack can hold, so it is kept up to date as
+ * Tiles are added and removed.
+ *
+ * The hash is a Zobrist hash of the same letters, which can be XORed with the
+ * hash of a board to give one hash for the board and the Rack together.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class RackModel
+{
+	// Most Tiles a Rack can hold
+	public static final int MAX_TILES = 7;
+
+	private static final int LETTERS = BoardModel.BLANK + 1;
+
+	// The value of one of each letter in the key
+	private static final long[] PLACES = findPlaces();
+
+	private int[] counts;
+	private int noOfTiles;
+	private long key;
+	private long hash;
+
+	/**
+	 * Constructs an empty RackModel
+	 */
+	public RackModel()
+	{
+		counts = new int[LETTERS];
+	}
+
+	/**
+	 * Constructs a RackModel with the given letters.
+	 * Precondition: there are no more than 7 Tiles
+	 *
+	 * @param letters the number of each letter in the Rack (0-25 for A-Z, 26
+	 *            for blanks)
+	 */
+	public RackModel(int[] letters)
+	{
+		counts = letters.clone();
+		for (int letter = 0; letter < LETTERS; letter++)
+			noOfTiles += counts[letter];
+		key = findKey(counts);
+		for (int letter = 0; letter < LETTERS; letter++)
+			hash ^= Zobrist.getTileKey(letter, counts[letter]);
+	}
+
+	/**
+	 * Constructs a copy of the given RackModel
+	 *
+	 * @param other the RackModel to copy
+	 */
+	public RackModel(RackModel other)
+	{
+		counts = other.counts.clone();
+		noOfTiles = other.noOfTiles;
+		key = other.key;
+		hash = other.hash;
+	}
+
+	/**
+	 * Adds a Tile to the Rack. Precondition: the Rack is not full
+	 *
+	 * @param letter the letter of the Tile (0-25 for A-Z, 26 for blanks)
+	 */
+	public void add(int letter)
+	{
+		hash ^= Zobrist.getTileKey(letter, counts[letter]);
+		counts[letter]++;
+		noOfTiles++;
+		key += PLACES[letter];
+		hash ^= Zobrist.getTileKey(letter, counts[letter]);
+	}
+
+	/**
+	 * Removes a Tile from the Rack. Precondition: the Tile is in the Rack
+	 *
+	 * @param letter the letter of the Tile (0-25 for A-Z, 26 for blanks)
+	 */
+	public void remove(int letter)
+	{
+		hash ^= Zobrist.getTileKey(letter, counts[letter]);
+		counts[letter]--;
+		noOfTiles--;
+		key -= PLACES[letter];
+		hash ^= Zobrist.getTileKey(letter, counts[letter]);
+	}
+
+	/**
+	 * Counts the Tiles of the given letter in the Rack
+	 *
+	 * @param letter the letter to count (0-25 for A-Z, 26 for blanks)
+	 * @return the number of Tiles of the letter
+	 */
+	public int getCount(int letter)
+	{
+		return counts[letter];
+	}
+
+	/**
+	 * Counts the letters in the Rack
+	 *
+	 * @return a copy of the number of each letter in the Rack (0-25 for A-Z,
+	 *         26 for blanks)
+	 */
+	public int[] getCounts()
+	{
+		return counts.clone();
+	}
+
+	/**
+	 * Finds the number of Tiles in the Rack
+	 *
+	 * @return the number of Tiles in the Rack
+	 */
+	public int size()
+	{
+		return noOfTiles;
+	}
+
+	/**
+	 * Gets the key for the letters in the Rack
+	 *
+	 * @return the key, which is the same for every Rack with the same letters
+	 */
+	public long getKey()
+	{
+		return key;
+	}
+
+	/**
+	 * Gets the hash of the letters in the Rack
+	 *
+	 * @return the Zobrist hash, which is the same for every Rack with the
+	 *         same letters, and 0 for an empty Rack
+	 */
+	public long getHash()
+	{
+		return hash;
+	}
+
+	/**
+	 * Finds the key for the letters left in the Rack after the given Tiles
+	 * are played. Precondition: the Tiles are in the Rack
+	 *
+	 * @param tiles the letters of the Tiles played or exchanged, as in a Move
+	 * @return the key for the letters left
+	 */
+	public long getLeaveKey(String tiles)
+	{
+		long leaveKey = key;
+		for (int index = 0; index < tiles.length(); index++)
+			leaveKey -= PLACES[Move.findLetter(tiles.charAt(index))];
+		return leaveKey;
+	}
+
+	/**
+	 * Finds the key for the given letters
+	 *
+	 * @param letters the number of each letter (0-25 for A-Z, 26 for blanks).
+	 *            Precondition: there are no more than 7 Tiles
+	 * @return the key for the letters
+	 */
+	public static long findKey(int[] letters)
+	{
+		long letterKey = 0;
+		for (int letter = 0; letter < LETTERS; letter++)
+			letterKey += letters[letter] * PLACES[letter];
+		return letterKey;
+	}
+
+	/**
+	 * Finds the most Tiles of the given letter a Rack can hold, which is the
+	 * highest digit for the letter in a key
+	 *
+	 * @param letter the letter (0-25 for A-Z, 26 for blanks)
+	 * @return the most Tiles of the letter a Rack can hold
+	 */
+	public static int getMaxCount(int letter)
+	{
+		return Math.min(Bag.NO_OF_EACH_TILE[letter], MAX_TILES);
+	}
+
+	/**
+	 * Returns a String representation of the letters in the Rack, in
+	 * alphabetical order with blanks last as ?
+	 *
+	 * @return a String representation of the Rack
+	 */
+	public String toString()
+	{
+		StringBuilder rackStr = new StringBuilder(noOfTiles);
+		for (int letter = 0; letter < LETTERS; letter++)
+			for (int tileNo = 0; tileNo < counts[letter]; tileNo++)
+				rackStr.append(letter == BoardModel.BLANK ? '?'
+						: (char) ('A' + letter));
+		return rackStr.toString();
+	}
+
+	/**
+	 * Works out the value of one of each letter in the key. Each letter's
+	 * digit goes from 0 to the most Tiles of that letter a Rack can hold.
+	 *
+	 * @return the value of each letter in the key
+	 */
+	private static long[] findPlaces()
+	{
+		long[] places = new long[LETTERS];
+		long place = 1;
+		for (int letter = 0; letter < LETTERS; letter++)
+		{
+			places[letter] = place;
+			place *= getMaxCount(letter) + 1;
+		}
+		return places;
+	}
+}
@@ -110,7 +110,8 @@ public class ScrabbleMain extends JFrame implements ActionListener
 		// User presses Quit
 		else if (event.getSource() == quitMenuItem)
 		{
-			// Update statistics file and then exit
+			// Stop the AI, update statistics file and then exit
+			scrabbleArea.stopAI();
 			scrabbleArea.getStats().writeToFile("statisticsFile.dat");
 			System.exit(0);
 		}
@@ -145,7 +146,8 @@ public class ScrabbleMain extends JFrame implements ActionListener
 		 */
 		public void windowClosing(WindowEvent event)
 		{
-			// Save statistics before exiting
+			// Stop the AI and save statistics before exiting
+			scrabbleArea.stopAI();
 			scrabbleArea.getStats().writeToFile("statisticsFile.dat");
 			System.exit(0);
 		}
@@ -157,6 +159,7 @@ public class ScrabbleMain extends JFrame implements ActionListener
 		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		frame.pack();
 		frame.setVisible(true);
+		AssetLoader.logSinceLaunch("Frame shown");
 	}
 
 }
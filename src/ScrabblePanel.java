@@ -10,18 +10,15 @@ import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Scanner;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
 import javax.swing.JCheckBox;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingWorker;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 
@@ -30,9 +27,9 @@ import javax.swing.border.EtchedBorder;
  * MouseListener and MouseMotionListener methods for user input, methods to
  * start a new game, to clear any of the boards, to merge the board containing
  * the player or AI's move with the board with all previous moves, to check if a
- * given point is on the board, to move to the help menu, to make a move (check
- * validity of placement and words created), to calculate the score, to paint
- * the board, and additional methods for AI moves.
+ * given point is on the board, to move to the help menu, to make a move, to
+ * paint the board, and additional methods for AI moves. The rules of the game
+ * are checked by a GameEngine, and this panel shows the GameState.
  * 
  * @author Jennifer Chan and Jessica Jiang
  * @version 21 January 2015
@@ -46,32 +43,48 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 	public static final int SQUARE_SIZE = 40;
 	private static final Image MAIN_MENU = new ImageIcon(
 			"images\\Main Menu.png").getImage();
-	private static final Image[] HELP_IMAGES = new Image[17];
 	private static final Image BOARD = new ImageIcon("images\\Board.png")
 			.getImage();
 	private static final Point PLAYER_RACK_POSITION = new Point(140, 625);
 	private static final Point AI_RACK_POSITION = new Point(700, 225);
-	private static final Point BAG_POSITION = new Point(100, 100);
+
+	// The players in the GameState
+	private static final int PLAYER = 0;
+	private static final int AI = 1;
+
+	// Number of threads the AI searches with
+	private static final int AI_THREADS = Runtime.getRuntime()
+			.availableProcessors();
+
+	// Number of threads the AI ponders with on the player's turn, which
+	// leaves at least half the cores for the window
+	private static final int PONDER_THREADS = Math.max(1, AI_THREADS / 2);
 
 	// Variables needed for the game
 	private ScrabbleMain parentFrame;
 	private Rack playerRack;
 	private Rack AIRack;
-	private Bag myBag;
 	private Tile[][] board;
 	private Tile[][] movesBoard; // Keeps track of moves from the current turn
-	private int[][] bonuses; // Keeps track of where the bonuses on the board
-								// are; DL = 1, TL = 2, DW = -1, TW = -2
+	private BoardModel movesModel; // The letters in movesBoard
+	private GameEngine engine; // The rules of the game
+	private GameState game; // The board, Bag, Racks and scores
 	private Tile selectedTile;
 	private Point lastPoint;
-	private int currentTurn; // -1 = AI, 1 = player
-	private HashSet<String> dictionary;
-	private int playerLastRackSize;
-	private int AILastRackSize;
-	private int playerScore;
-	private int AIScore;
-	private boolean firstMove;
-	private int passCount;
+	private AssetLoader assets;
+	private Lexicon dictionary;
+	private ParallelMoveGenerator parallelGenerator;
+	private AnagramIndex anagrams;
+	private LeaveTable leaves; // Values of the Tiles the AI keeps, if made
+	private MoveCache moveCache; // Moves the AI has already found
+	private Simulator simulator; // Plays out Hard's best moves
+	private EndgameSolver endgameSolver; // Searches once the Bag is empty
+	private AIPlayer aiPlayer; // Chooses the AI's moves for the difficulty
+	private AIWorker aiWorker; // The AI's search, while it is thinking
+	private Random AIRandom; // Random numbers for the AI's moves
+	private long AITurnSeed; // Seed for the AI's next move
+	private Ponderer ponderer; // Thinks about the AI's reply on the player's turn
+	private Random rackRandom; // Random numbers for shuffling the Rack
 	private Statistics stats;
 	private String difficulty;
 	private int gameState;// Keeps track of which page the user is on (0 - Main
@@ -79,13 +92,13 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 	private int lastState; // Keeps track of the last state the user was in
 							// before entering the help
 	private int helpPage; // Keeps track of the help page
-	private int AILastScore;
-	private int playerLastScore;
+	private boolean painted; // Whether the first frame has been drawn
 
 	/**
-	 * Constructs a ScrabblePanel by setting up the Panel, setting up the help
-	 * images, initializing all of the boards, filling in the dictionary, and
-	 * initializing the Racks and Bags Also sets up listeners for mouse events
+	 * Constructs a ScrabblePanel by setting up the Panel, starting to load the
+	 * dictionary and images in the background, initializing all of the boards,
+	 * and initializing the Racks. Also sets up listeners for mouse
+	 * events
 	 * 
 	 * @param parentFrame the main Frame that holds this panel
 	 */
@@ -100,45 +113,23 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 		this.addMouseListener(this);
 		this.addMouseMotionListener(this);
 
-		// Fill in the Help Images
-		for (int i = 0; i < HELP_IMAGES.length; i++)
-		{
-			HELP_IMAGES[i] = new ImageIcon("images\\Help" + i + ".png")
-					.getImage();
-		}
+		// Start loading the dictionary, help images and Tile images in the
+		// background so the main menu shows right away
+		long startTime = System.nanoTime();
+		assets = new AssetLoader("dictionary.dawg", "dictionary.txt");
 
-		// Initialize board, bonuses and dictionary
+		// Initialize board
 		board = new Tile[15][15];
 		movesBoard = new Tile[15][15];
-		bonuses = new int[15][15];
-		dictionary = new HashSet<String>();
-		try
-		{
-			Scanner sc = new Scanner(new File("board.txt"));
-			for (int row = 0; row < bonuses.length; row++)
-				for (int col = 0; col < bonuses[row].length; col++)
-					bonuses[row][col] = sc.nextInt();
-
-			sc = new Scanner(new File("dictionary.txt"));
-			while (sc.hasNext())
-				dictionary.add(sc.next().toUpperCase());
-
-			sc.close();
-		}
-		catch (FileNotFoundException e)
-		{
-			System.out.println("BAD FILE NAME");
-		}
+		movesModel = new BoardModel();
 
 		// Initialize the Racks
 		playerRack = new Rack(PLAYER_RACK_POSITION);
 		AIRack = new Rack(AI_RACK_POSITION);
 
-		// Initialize the Bag
-		myBag = new Bag(BAG_POSITION);
-
 		// Read in the statistics
 		stats = Statistics.readFromFile("statisticsFile.dat");
+		AssetLoader.logTime("Panel set up", startTime);
 	}
 
 	/**
@@ -157,42 +148,75 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 		if (difficulty == null)
 			return;
 
+		// Stop the AI if it is still thinking about the last game
+		stopAI();
+
+		// Wait for the dictionary if it is still loading
+		if (dictionary == null)
+		{
+			if (!assets.isLexiconReady())
+				setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+			dictionary = assets.getLexicon();
+			setCursor(Cursor.getDefaultCursor());
+
+			// A game can't be played without a dictionary
+			if (dictionary == null)
+			{
+				JOptionPane.showMessageDialog(parentFrame,
+						"The dictionary could not be loaded. Make sure "
+								+ "dictionary.txt is in the game's folder.",
+						"Dictionary Missing", JOptionPane.ERROR_MESSAGE);
+				return;
+			}
+			parallelGenerator = new ParallelMoveGenerator(dictionary,
+					AI_THREADS);
+			engine = new GameEngine(dictionary);
+			anagrams = new AnagramIndex(dictionary, 7);
+			leaves = LeaveTable.readFromBinary("leaves.dat");
+			moveCache = new MoveCache(MoveCache.DEFAULT_SIZE);
+			simulator = new Simulator(dictionary, AI_THREADS,
+					Simulator.MAX_ITERATIONS);
+			endgameSolver = new EndgameSolver(dictionary, AI_THREADS,
+					EndgameSolver.MAX_DEPTH);
+			ponderer = new Ponderer(dictionary, anagrams, PONDER_THREADS);
+		}
+
+		// Forget the endgame positions searched in the last game
+		endgameSolver.clear();
+		ponderer.clear();
+
+		aiPlayer = new AIPlayer(difficulty, parallelGenerator, anagrams);
+		aiPlayer.setLeaveTable(leaves);
+		aiPlayer.setMoveCache(moveCache);
+		aiPlayer.setSimulator(simulator);
+		aiPlayer.setEndgameSolver(endgameSolver);
+
 		// Change the game state to in game
 		gameState = 2;
 
-		// Let the player go first
-		currentTurn = 1;
+		// Start a new game with a shuffled Bag, with the player going first
+		long seed = System.nanoTime();
+		game = engine.newGame(seed);
+		AIRandom = Seeds.newRandom(seed, Seeds.FIRST_PLAYER + AI);
+		rackRandom = Seeds.newRandom(seed, Seeds.RACK);
 
 		// Clear the Racks and Board
 		playerRack.clear();
 		AIRack.clear();
 		clearBoard(board);
 		clearBoard(movesBoard);
-
-		// Reset scores
-		playerScore = 0;
-		AIScore = 0;
-
-		// Shuffle the pieces in the Bag
-		myBag.shuffle();
+		movesModel.clear();
 
 		// Fill the Racks
-		playerRack.fillRack(myBag);
-		AIRack.fillRack(myBag);
+		playerRack.match(game.getRackModel(PLAYER));
+		AIRack.match(game.getRackModel(AI));
 
 		// No selected piece at the beginning
 		selectedTile = null;
 
-		// Reset other variables
-		firstMove = true;
-		playerLastRackSize = playerRack.tilesLeft();
-		AILastRackSize = AIRack.tilesLeft();
-		passCount = 0;
-		AILastScore = 0;
-		playerLastScore = 0;
-
 		// Paint the board
 		repaint();
+		startPondering();
 	}
 
 	/**
@@ -227,6 +251,7 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 				}
 			}
 		}
+		movesModel.clear();
 	}
 
 	/**
@@ -256,10 +281,10 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 	}
 
 	/**
-	 * Checks if the Tiles placed on the board form a valid move and calculates
-	 * the score for the move
+	 * Plays the Tiles the player placed on the board this turn, if they form
+	 * a valid move. The rules are checked by the GameEngine.
 	 * 
-	 * @return a value > 0 if the Tiles placed form a valid move (this
+	 * @return a value >= 0 if the Tiles placed form a valid move (this
 	 *         represents the score for the move), -1 if no Tiles were placed on
 	 *         rack, -2 if the user has not placed a Tile on the star on their
 	 *         first move, -3 if Tiles are not placed in the same row or column
@@ -269,503 +294,168 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 	 */
 	public int makeMove()
 	{
-		// Player has not placed any tiles
-		if (playerRack.tilesLeft() == playerLastRackSize && currentTurn == 1)
-			return -1;
-
-		// Make sure user has placed Tile on red star on first move
-		if (firstMove && movesBoard[7][7] == null)
-			return -2;
-
-		int direction = -1;
-		Tile[][] affectedBoard = new Tile[15][15];
-		int startRow = -1;
-		int startCol = -1;
-		// Find the first Tile the player placed (top left Tile)
-		for (int row = 0; row < movesBoard.length && startRow == -1; row++)
-			for (int col = 0; col < movesBoard[row].length && startCol == -1; col++)
-				if (movesBoard[row][col] != null)
-				{
-					// Check the direction for the player
-					if (currentTurn == 1)
-					{
-						direction = checkDirection(row, col, playerRack);
-						if (direction == -1)
-							return -3;
-					}
-					// Check the direction for the AI
-					else
-						direction = checkDirection(row, col, AIRack);
-
-					// Find all Tiles affected by the move made
-					affectedBoard = findAffected(direction, row, col);
-					startRow = row;
-					startCol = col;
-				}
-
-		// If the affected board and the move made are identical and
-		// it is not the first move, that means that the move made is not
-		// attached to any existing Tiles
-		boolean change = false;
-		for (int row = 0; row < board.length; row++)
-		{
-			for (int col = 0; col < board[row].length; col++)
-			{
-				if (movesBoard[row][col] != affectedBoard[row][col])
-					change = true;
-			}
-		}
-
-		// User has not made a move connected to any part of the board
-		if (!change && !firstMove)
-			return -4;
-
-		// Calculate the score
-		int score = calculateScore(direction, startRow, startCol, affectedBoard);
+		// Check the placement and words, and play the move if it is valid
+		int score = engine.play(game, movesModel);
 
 		// A word was not found in the dictionary
-		if (score == -1)
-			return -5;
-
-		// Move is completely valid
-		else
-		{
-			// No longer first move
-			firstMove = false;
-
-			// Check for 50 point bonus if all Tiles were used
-			if ((currentTurn == 1 && playerRack.tilesLeft() == 0)
-					|| (currentTurn == -1 && AIRack.tilesLeft() == 0))
-				return score += 50;
-			else
-				return score;
-		}
+		if (score == MoveScorer.INVALID_WORD)
+			JOptionPane.showMessageDialog(parentFrame, engine.getInvalidWord()
+					+ " is not a valid word!", "Invalid Move!",
+					JOptionPane.INFORMATION_MESSAGE);
 
+		return score;
 	}
 
 	/**
-	 * Makes the move for the AI.
+	 * Starts the AI's move. If the AI already chose a reply to the player's
+	 * move while pondering, it is made straight away. Otherwise the AI
+	 * searches on a background thread with a copy of the game, so the window
+	 * keeps responding while it thinks, and the move is made on the Event
+	 * Dispatch Thread when it is found. The search stops at the time limit
+	 * for the difficulty and makes the best move found so far.
 	 */
 	public void AIMove()
 	{
-		// Update the panel to show that it is the AI's turn
-		this.paintImmediately(0, 0, WIDTH, HEIGHT);
-
-		// Set up variables to store the highest scoring word
-		String highestWord = null;
-		int highestScore = 0;
-		int highestRow = -1;
-		int highestCol = -1;
-		int highestDirection = -1;
-
-		// A boolean array to ensure tiles are only used
-		// once
-		boolean[] usedTiles = { false, false, false, false, false, false,
-				false, false };
-
-		// Find all permutations of the letters on the Rack
-		ArrayList<String> words = new ArrayList<String>();
-		formWords(usedTiles, "", 0, words);
-
-		// Randomize the list for easy difficulty
-		if (difficulty.equals("Easy"))
-			Collections.shuffle(words);
-
-		// Special case for first move (need to start in center, and not
-		// attached to any existing Tiles
-		if (firstMove)
+		ponderer.stop();
+		Ponderer.Reply reply = ponderer.getReply(game);
+		if (reply != null)
 		{
-			// Remove words that are not valid first
-			for (int i = 0; i < words.size(); i++)
-			{
-				if (!dictionary.contains(words.get(i)))
-				{
-					words.remove(i);
-					i--;
-				}
-			}
-
-			// Try placing each word on the board
-			for (String nextWord : words)
-			{
-				placeOnBoard(nextWord, 7, 7, 1);
-
-				// Get the score for this move
-				int score = makeMove();
-
-				// Found a valid move
-				if (score > highestScore)
-				{
-					// Place the first first word found for easy mode (random
-					// word)
-					if (difficulty.equals("Easy"))
-					{
-						// Reset passCount
-						passCount = 0;
-						endAITurn(score);
-						return;
-					}
-					// Store the highest-scoring word
-					highestScore = score;
-					highestWord = nextWord;
-					highestRow = 7;
-					highestCol = 7;
-					highestDirection = 1;
-				}
-
-				// Return Tiles to rack
-				returnToRack(AIRack);
-			}
+			finishAIMove(reply.getMove());
+			return;
 		}
-		// Not first move
-		else
-		{
-
-			// Go through each Tile on the board
-			for (int row = 0; row < board.length; row++)
-				for (int col = 0; col < board[row].length; col++)
-				{
-					// First Tile found
-					if (board[row][col] != null)
-					{
-						// Check top slot
-						if (row - 1 >= 0 && board[row - 1][col] == null)
-						{
-							// Try to place each word on the board
-							for (String nextWord : words)
-							{
-								// Try placing the word vertically first
-								int length = nextWord.length();
-								int startRow = row - length;
-								while (startRow < 0)
-									startRow++;
-
-								// Start placing the word
-								placeOnBoard(nextWord, startRow, col, 0);
-
-								int score = makeMove();
-
-								if (score > highestScore)
-								{
-									// Place the first first word found for easy
-									// mode
-									if (difficulty.equals("Easy"))
-									{
-										// Reset passCount
-										passCount = 0;
-										endAITurn(score);
-										return;
-									}
-									// Store the highest-scoring word
-									highestScore = score;
-									highestWord = nextWord;
-									highestRow = startRow;
-									highestCol = col;
-									highestDirection = 0;
-								}
-
-								// Return tiles to rack
-								returnToRack(AIRack);
-
-								// Try placing the word horizontally
-								placeOnBoard(nextWord, row - 1, col, 1);
-
-								score = makeMove();
-
-								if (score > highestScore)
-								{
-									// Place the first first word found for easy
-									// mode
-									if (difficulty.equals("Easy"))
-									{
-										// Reset passCount
-										passCount = 0;
-										endAITurn(score);
-										return;
-									}
-									// Store the highest-scoring word
-									highestScore = score;
-									highestWord = nextWord;
-									highestRow = row - 1;
-									highestCol = col;
-									highestDirection = 1;
-								}
-
-								// Return tiles to rack
-								returnToRack(AIRack);
-							}
-						}
-						// Check bottom slot
-						if (row + 1 < board.length
-								&& board[row + 1][col] == null)
-						{
-							// Place each word on the board
-							for (String nextWord : words)
-							{
-								// Try placing the word horizontally
-								placeOnBoard(nextWord, row + 1, col, 1);
-
-								int score = makeMove();
-
-								if (score > highestScore)
-								{
-									// Place the first first word found for easy
-									// mode
-									if (difficulty.equals("Easy"))
-									{
-										// Reset passCount
-										passCount = 0;
-										endAITurn(score);
-										return;
-									}
-									// Store the highest-scoring word
-									highestScore = score;
-									highestWord = nextWord;
-									highestRow = row + 1;
-									highestCol = col;
-									highestDirection = 1;
-								}
-
-								// Return tiles to rack
-								returnToRack(AIRack);
-							}
-						}
-						// Check left slot
-						if (col - 1 >= 0 && board[row][col - 1] == null)
-						{
-							// Place each word on the board
-							for (String nextWord : words)
-							{
-								// Try placing the word horizontally first
-								int length = nextWord.length();
-								int startCol = col - length;
-								while (startCol < 0)
-									startCol++;
-
-								// Start placing the word
-								placeOnBoard(nextWord, row, startCol, 1);
 
-								int score = makeMove();
+		Deadline deadline = new Deadline(aiPlayer.getTimeLimit());
+		aiWorker = new AIWorker(new GameState(game, Seeds.newRandom(
+				AITurnSeed, Seeds.BAG)), deadline, new Random(AITurnSeed));
+		aiWorker.execute();
 
-								if (score > highestScore)
-								{
-									// Place the first first word found for easy
-									// mode
-									if (difficulty.equals("Easy"))
-									{
-										// Reset passCount
-										passCount = 0;
-										endAITurn(score);
-										return;
-									}
-									// Store the highest-scoring word
-									highestScore = score;
-									highestWord = nextWord;
-									highestRow = row;
-									highestCol = startCol;
-									highestDirection = 1;
-								}
-
-								// Return tiles to rack
-								returnToRack(AIRack);
-
-								// Try placing the word vertically
-								placeOnBoard(nextWord, row, col - 1, 0);
-
-								score = makeMove();
-
-								if (score > highestScore)
-								{
-									// Place the first first word found for easy
-									// mode
-									if (difficulty.equals("Easy"))
-									{
-										// Reset passCount
-										passCount = 0;
-										endAITurn(score);
-										return;
-									}
-									// Store the highest-scoring word
-									highestScore = score;
-									highestWord = nextWord;
-									highestRow = row;
-									highestCol = col - 1;
-									highestDirection = 0;
-								}
-
-								// Return tiles to rack
-								returnToRack(AIRack);
-
-							}
-						}
-						// Check right slot
-						if (col + 1 < board[row].length
-								&& board[row][col + 1] == null)
-						{
-							// Place each word on the board
-							for (String nextWord : words)
-							{
-								// Try placing the word vertically
-								placeOnBoard(nextWord, row, col + 1, 0);
-
-								int score = makeMove();
-
-								if (score > highestScore)
-								{
-									// Place the first first word found for easy
-									// mode
-									if (difficulty.equals("Easy"))
-									{
-										// Reset passCount
-										passCount = 0;
-										endAITurn(score);
-										return;
-									}
-									// Store the highest-scoring word
-									highestScore = score;
-									highestWord = nextWord;
-									highestRow = row;
-									highestCol = col + 1;
-									highestDirection = 0;
-								}
+		// Update the panel to show that it is the AI's turn
+		repaint();
+	}
 
-								// Return tiles to rack
-								returnToRack(AIRack);
+	/**
+	 * Starts thinking about the AI's reply while the player chooses their
+	 * move. The AI's random numbers for the reply are chosen now, so the
+	 * reply is the same whether it is found now or after the move.
+	 */
+	private void startPondering()
+	{
+		AITurnSeed = AIRandom.nextLong();
+		ponderer.start(game, aiPlayer, AITurnSeed);
+	}
 
-							}
-						}
-					}
-				}
+	/**
+	 * Stops the AI if it is thinking. The move it was searching for will
+	 * never be made.
+	 */
+	public void stopAI()
+	{
+		if (ponderer != null)
+			ponderer.stop();
+		if (aiWorker != null)
+		{
+			aiWorker.deadline.stop();
+			aiWorker.cancel(true);
+			aiWorker = null;
 		}
+	}
 
-		// Place the highestWord on the board
-		if (highestScore > 0)
+	/**
+	 * Makes the move the AI chose, or passes if it could not find one
+	 *
+	 * @param chosenMove the move to make, or null to pass
+	 */
+	private void finishAIMove(Move chosenMove)
+	{
+		// Exchange the chosen Tiles, which are matched to the AI Rack
+		if (chosenMove != null && chosenMove.isExchange()
+				&& engine.play(game, chosenMove) >= 0)
 		{
-			placeOnBoard(highestWord, highestRow, highestCol, highestDirection);
+			JOptionPane.showMessageDialog(parentFrame, "AI has exchanged "
+					+ chosenMove.getTiles().length() + " tiles.", "AI Move",
+					JOptionPane.INFORMATION_MESSAGE);
+			endAITurn();
+			repaint();
+			return;
+		}
 
-			// Reset passCount
-			passCount = 0;
+		// Place the chosen move on the board and play it
+		int score = MoveScorer.NO_TILES;
+		if (chosenMove != null && !chosenMove.isExchange())
+		{
+			placeMove(chosenMove);
+			score = engine.play(game, movesModel);
 		}
+
+		if (score >= 0)
+			mergeBoards();
 		// Could not find any valid word
 		else
 		{
 			// Pass
-			passCount++;
+			returnToRack(AIRack);
+			engine.pass(game);
 			JOptionPane.showMessageDialog(parentFrame, "AI has passed.",
 					"AI Move", JOptionPane.INFORMATION_MESSAGE);
 		}
-
-		// End the AI turn
-		endAITurn(highestScore);
+		endAITurn();
+		repaint();
 	}
 
 	/**
-	 * Ends the AI turn by checking for a winner, adding the scores, refilling
-	 * the rack, merging the boards and switching to the appropriate player or
-	 * game state
-	 * 
-	 * @param score the score to add to the AI's score
+	 * Ends the AI turn by refilling the AI Rack and checking for a winner
 	 */
-	private void endAITurn(int score)
+	private void endAITurn()
 	{
-		AIScore += score;
-		AILastScore = score;
-		AIRack.fillRack(myBag);
-		AILastRackSize = AIRack.tilesLeft();
-		mergeBoards();
-
-		int winner = checkWinner();
-
-		// Winner is either player or AI
-		if (winner != 0)
-			// Change gameState to end game so the player cannot move anything
-			gameState = 3;
-		else
-			currentTurn *= -1;
+		AIRack.match(game.getRackModel(AI));
 
+		// Change gameState to end game so the player cannot move anything
+		if (game.isOver())
+			showWinner();
+		else
+			startPondering();
 	}
 
 	/**
-	 * Generates all possible permutations using the AI Rack
+	 * AI helper method. Places the Tiles for the given Move from the AI Rack
+	 * onto the board
 	 * 
-	 * @author Jessica Jiang
-	 * @param usedTiles the Tiles in the Rack that have been used
-	 * @param word the current word being spelled
-	 * @param length the length of the word currently being spelled
-	 * @param words the list of possible permutations
+	 * @param move the Move to place on the board
 	 */
-	public void formWords(boolean usedTiles[], String word, int length,
-			ArrayList<String> words)
+	public void placeMove(Move move)
 	{
-		// We have used all the tiles in the Rack
-		if (length == AIRack.tilesLeft())
-			return;
+		int row = move.getRow();
+		int col = move.getCol();
+		String tiles = move.getTiles();
 
-		// Go through each tile in the Rack
-		for (int i = 0; i < AIRack.tilesLeft(); i++)
+		for (int letter = 0; letter < tiles.length(); letter++)
 		{
-			// If the Tile has not been used yet, then use the Tile
-			if (!usedTiles[i])
+			// Skip over Tiles already on the board
+			while (game.getBoard().hasTile(row, col))
 			{
-				// Add the Tile to the current word being built, and add it to
-				// the list of possible words
-				usedTiles[i] = true;
-				StringBuilder newWord = new StringBuilder(word);
-				Tile nextTile = AIRack.getTile(i);
-
-				// Make all blank tiles 'E' for simplicity
-				if (nextTile.isBlank())
-					nextTile.setLetter('E');
-
-				newWord.append(AIRack.getTile(i).getLetter());
-				words.add(newWord.toString());
-
-				// Find all other permutations using the rest of the Tiles in
-				// the Rack
-				formWords(usedTiles, newWord.toString(), length + 1, words);
-
-				// Unmark the tile
-				usedTiles[i] = false;
+				if (move.getDirection() == 1)
+					col++;
+				else
+					row++;
 			}
-		}
-	}
-
-	/**
-	 * AI helper method. Places the Tiles of a given word onto the Board
-	 * 
-	 * @param word the word to place on the board
-	 * @param row the row to start placing the word on
-	 * @param col the column to start placing the word on
-	 * @param direction the direction to place the word in
-	 */
-	public void placeOnBoard(String word, int row, int col, int direction)
-	{
-		// If placing the word (not including any existing pieces on the board)
-		// will end up going off the board, then exit early
-		if ((direction == 0 && row + word.length() > board.length)
-				|| (direction == 1 && col + word.length() > board[0].length))
-			return;
-
-		// Try placing each letter on the board
-		for (int letter = 0; letter < word.length()
-				&& (row < board.length && col < board[row].length); letter++)
-		{
-			// Get the corresponding Tile from the Rack for each letter in the
-			// word
-			Tile nextTile = AIRack.getTile(word.charAt(letter));
 
-			// Place the Tile on the current spot if there isn't a Tile there
-			if (board[row][col] == null && movesBoard[row][col] == null)
+			// Blanks are stored in lower case
+			char nextLetter = tiles.charAt(letter);
+			Tile nextTile;
+			if (Character.isLowerCase(nextLetter))
 			{
-				placeOn(nextTile, row, col);
-				AIRack.removeTile(nextTile);
+				nextTile = AIRack.getTile(Character.toUpperCase(nextLetter),
+						true);
+				nextTile.setLetter(Character.toUpperCase(nextLetter));
 			}
-			// If there is a tile there, then don't move on the to next letter
 			else
-				letter--;
+				nextTile = AIRack.getTile(nextLetter, false);
+
+			placeOn(nextTile, row, col);
+			AIRack.removeTile(nextTile);
 
-			// Increase row or column depending on direction
-			if (direction == 1)
+			// Move on to the next square
+			if (move.getDirection() == 1)
 				col++;
 			else
 				row++;
@@ -785,484 +475,13 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 	{
 		// Put Tile on board
 		movesBoard[row][col] = tile;
+		movesModel.place(row, col, tile.getLetter() - 'A', tile.isBlank());
 
 		// Change position of Tile
 		tile.setPosition(new Point(30 + col * SQUARE_SIZE, 18 + row
 				* SQUARE_SIZE));
 	}
 
-	/**
-	 * Checks if the Tiles on the board are placed in a valid order (all in one
-	 * row or column) and returns the direction
-	 *
-	 * @param startRow the row to start checking in
-	 * @param startCol the column to start checking in
-	 * @param rack the Rack to check
-	 * @return -1 if the direction is not valid, 0 if the word is going
-	 *         vertical, 1 if the word is horizontal
-	 */
-	private int checkDirection(int startRow, int startCol, Rack rack)
-	{
-		int count = rack.tilesLeft() + 1;
-
-		// One piece was placed
-		if ((currentTurn == 1 && count == playerLastRackSize)
-				|| (currentTurn == -1 && count == AILastRackSize))
-		{
-			// Check around to see if it forms a direction with pieces already
-			// on the board
-			if ((startCol + 1 < movesBoard[0].length && board[startRow][startCol + 1] != null)
-					|| (startCol - 1 >= 0 && board[startRow][startCol - 1] != null))
-				return 1;
-			else if ((startRow + 1 < movesBoard.length && board[startRow + 1][startCol] != null)
-					|| (startRow - 1 >= 0 && board[startRow - 1][startCol] != null))
-				return 0;
-		}
-
-		// Left to right
-		for (int checkCol = startCol + 1; checkCol < movesBoard[0].length
-				&& (board[startRow][checkCol] != null || movesBoard[startRow][checkCol] != null); checkCol++)
-		{
-			if (movesBoard[startRow][checkCol] != null)
-				count++;
-		}
-
-		// Check that the number of Tiles in the column is the same as the
-		// missing number of Tiles on the Rack (this means that all Tiles are
-		// placed in this row)
-		if ((currentTurn == 1 && count == playerLastRackSize)
-				|| (currentTurn == -1 && count == AILastRackSize))
-			return 1;
-		else if (count > rack.tilesLeft() + 1)
-			return -1;
-
-		// Up to down
-		for (int checkRow = startRow + 1; checkRow < movesBoard[0].length
-				&& (board[checkRow][startCol] != null || movesBoard[checkRow][startCol] != null); checkRow++)
-		{
-			if (movesBoard[checkRow][startCol] != null)
-				count++;
-		}
-
-		// Check that the number of Tiles in the column is the same as the
-		// missing number of Tiles on the Rack
-		if ((currentTurn == 1 && count == playerLastRackSize)
-				|| (currentTurn == -1 && count == AILastRackSize))
-			return 0;
-		else
-			return -1;
-	}
-
-	/**
-	 * Finds all Tiles affected by the player's move.
-	 * 
-	 * @author Jessica Jiang
-	 * @param direction the direction the Tiles placed on the board are going
-	 * @param startRow the given row to check
-	 * @param startCol the given column to check
-	 * @return a 2D array with the Tiles affected by the player's move
-	 */
-	private Tile[][] findAffected(int direction, int startRow, int startCol)
-	{
-		Tile[][] affectedBoard = new Tile[15][15];
-
-		// Add the player's moves
-		for (int row = 0; row < movesBoard.length; row++)
-		{
-			for (int col = 0; col < movesBoard[row].length; col++)
-			{
-				affectedBoard[row][col] = movesBoard[row][col];
-			}
-		}
-
-		// Horizontal
-		if (direction == 1)
-		{
-
-			// Go left
-			for (int col = startCol - 1; col >= 0
-					&& board[startRow][col] != null; col--)
-			{
-
-				affectedBoard[startRow][col] = board[startRow][col];
-
-			}
-
-			// Go right
-			for (int col = startCol + 1; col < board[0].length
-					&& (board[startRow][col] != null || movesBoard[startRow][col] != null); col++)
-			{
-				if (board[startRow][col] != null)
-					affectedBoard[startRow][col] = board[startRow][col];
-			}
-
-			// Vertically check each letter
-			for (int col = startCol; col < board[0].length; col++)
-			{
-				// Only check if the user placed a piece in that column
-				if (movesBoard[startRow][col] != null)
-				{
-					// Check vertically up
-					for (int row = startRow - 1; row >= 0
-							&& board[row][col] != null; row--)
-					{
-						affectedBoard[row][col] = board[row][col];
-					}
-
-					// Include anything after the letter
-					for (int row = startRow + 1; row < board.length
-							&& board[row][col] != null; row++)
-					{
-						affectedBoard[row][col] = board[row][col];
-					}
-				}
-			}
-		}
-		// Vertical
-		else
-		{
-
-			// Go up
-			for (int row = startRow - 1; row >= 0
-					&& board[row][startCol] != null; row--)
-			{
-				affectedBoard[row][startCol] = board[row][startCol];
-			}
-
-			// Go down
-			for (int row = startRow + 1; row < board.length
-					&& (board[row][startCol] != null || movesBoard[row][startCol] != null); row++)
-			{
-				if (board[row][startCol] != null)
-					affectedBoard[row][startCol] = board[row][startCol];
-			}
-
-			// Horizontally check each letter
-			for (int row = startRow; row < board.length; row++)
-			{
-				// Only check if the user placed a piece in that row
-				if (movesBoard[row][startCol] != null)
-				{
-					// Check horizontally left
-					for (int col = startCol - 1; col >= 0
-							&& board[row][col] != null; col--)
-					{
-						affectedBoard[row][col] = board[row][col];
-					}
-
-					// Include anything after the letter
-					for (int col = startCol + 1; col < board.length
-							&& board[row][col] != null; col++)
-					{
-						affectedBoard[row][col] = board[row][col];
-					}
-
-				}
-			}
-		}
-
-		return affectedBoard;
-	}
-
-	/**
-	 * Finds all words on the affected board and calculates the score for the
-	 * move.
-	 *
-	 * @param direction the direction the Tiles placed on the board are going
-	 * @param startRow the given row of the first Tile the user placed
-	 * @param startCol the given column of the first Tile the user placed
-	 * @param affectedBoard the board with all affected Tiles from the user's
-	 *            move
-	 * @return -1 if the words created are not in the dictionary, a value > 0 if
-	 *         all words are in the dictionary (the total score for the move
-	 *         made)
-	 */
-	private int calculateScore(int direction, int startRow, int startCol,
-			Tile[][] affectedBoard)
-	{
-		int totalScore = 0;
-		StringBuilder word = new StringBuilder();
-		int wordScore = 0;
-		int bonus = 0;
-
-		// Horizontal
-		if (direction == 1)
-		{
-			// Check horizontally once
-			// Go to the left of the Tile the user placed
-			for (int col = startCol - 1; col >= 0
-					&& affectedBoard[startRow][col] != null; col--)
-			{
-				// Add to the front of the StringBuilder
-				word.insert(0, affectedBoard[startRow][col].getLetter());
-				wordScore += board[startRow][col].getValue();
-			}
-			// Go to the right of the Tile the user placed, including the Tile
-			// itself
-			for (int col = startCol; col < affectedBoard[0].length
-					&& affectedBoard[startRow][col] != null; col++)
-			{
-				// Add to the end of the StringBuilder
-				word.append(affectedBoard[startRow][col].getLetter());
-
-				// Calculate the score
-				if (movesBoard[startRow][col] != null)
-				{
-					int bonusValue = calculateBonus(startRow, col);
-					if (bonusValue > 0)
-						wordScore += bonusValue;
-					else
-					{
-						wordScore += movesBoard[startRow][col].getValue();
-						bonus = bonusValue;
-					}
-				}
-				else
-					wordScore += board[startRow][col].getValue();
-			}
-
-			// Calculate total score
-			int currentTotal = addTotalScore(bonus, wordScore, word.toString(),
-					totalScore);
-			if (currentTotal == -1)
-				return -1;
-			else if (currentTotal > 0)
-				totalScore = currentTotal;
-
-			// Check vertically for each letter
-			for (int col = startCol; col < board[0].length; col++)
-			{
-				// Only check if the user placed a piece in that row
-				if (movesBoard[startRow][col] != null)
-				{
-					word = new StringBuilder();
-					bonus = 0;
-					wordScore = 0;
-					// Calculate the score (since we are currently on a piece
-					// that the user placed)
-					if (movesBoard[startRow][col] != null)
-					{
-						int bonusValue = calculateBonus(startRow, col);
-						if (bonusValue > 0)
-							wordScore += bonusValue;
-						else
-						{
-							wordScore += movesBoard[startRow][col].getValue();
-							bonus = bonusValue;
-						}
-					}
-					// Check vertically up
-					for (int row = startRow - 1; row >= 0
-							&& affectedBoard[row][col] != null; row--)
-					{
-						// Add to the front of the StringBuilder
-						word.insert(0, affectedBoard[row][col].getLetter());
-						wordScore += board[row][col].getValue();
-					}
-
-					if (word.length() > 0
-							|| (startRow + 1 < board.length && affectedBoard[startRow + 1][col] != null))
-						// Include the letter the user placed
-						word.append(affectedBoard[startRow][col].getLetter());
-
-					// Include anything after the letter
-					for (int row = startRow + 1; row < affectedBoard.length
-							&& affectedBoard[row][col] != null; row++)
-					{
-						// Add to the end of the StringBuilder
-						word.append(affectedBoard[row][col].getLetter());
-						wordScore += board[row][col].getValue();
-					}
-
-					// Calculate total score
-					currentTotal = addTotalScore(bonus, wordScore,
-							word.toString(), totalScore);
-					if (currentTotal == -1)
-						return -1;
-					else if (currentTotal > 0)
-						totalScore = currentTotal;
-				}
-			}
-
-		}
-		// Vertical
-		else
-		{
-			// Check vertically once
-			// Check anything above the first Tile the user placed
-			for (int row = startRow - 1; row >= 0
-					&& affectedBoard[row][startCol] != null; row--)
-			{
-				// Add to the front of the StringBuilder
-				word.insert(0, affectedBoard[row][startCol].getLetter());
-				wordScore += board[row][startCol].getValue();
-			}
-
-			// Check anything below the first Tile the user placed, including
-			// the Tile
-			for (int row = startRow; row < affectedBoard.length
-					&& affectedBoard[row][startCol] != null; row++)
-			{
-				// Add to the end of the StringBuilder
-				word.append(affectedBoard[row][startCol].getLetter());
-
-				// Calculate the score
-				if (movesBoard[row][startCol] != null)
-				{
-					int bonusValue = calculateBonus(row, startCol);
-					if (bonusValue > 0)
-						wordScore += bonusValue;
-					else
-					{
-						wordScore += movesBoard[row][startCol].getValue();
-						bonus = bonusValue;
-					}
-				}
-				else
-					wordScore += board[row][startCol].getValue();
-			}
-
-			// Calculate total score
-			int currentTotal = addTotalScore(bonus, wordScore, word.toString(),
-					totalScore);
-			if (currentTotal == -1)
-				return -1;
-			else if (currentTotal > 0)
-				totalScore = currentTotal;
-
-			// Check horizontally for each letter
-			for (int row = startRow; row < board.length; row++)
-			{
-				// Only check if the user placed a piece in that row
-				if (movesBoard[row][startCol] != null)
-				{
-					word = new StringBuilder();
-					bonus = 0;
-					wordScore = 0;
-					// Calculate the score (since we are currently on a piece
-					// that the user placed)
-					if (movesBoard[row][startCol] != null)
-					{
-						int bonusValue = calculateBonus(row, startCol);
-						if (bonusValue > 0)
-							wordScore += bonusValue;
-						else
-						{
-							wordScore += movesBoard[row][startCol].getValue();
-							bonus = bonusValue;
-						}
-					}
-
-					// Check horizontally left
-					for (int col = startCol - 1; col >= 0
-							&& affectedBoard[row][col] != null; col--)
-					{
-						// Add to the front of the StringBuilder
-						word.insert(0, affectedBoard[row][col].getLetter());
-						wordScore += board[row][col].getValue();
-					}
-
-					if (word.length() > 0
-							|| (startCol + 1 < board[0].length && affectedBoard[row][startCol + 1] != null))
-						// Include the letter the user placed
-						word.append(affectedBoard[row][startCol].getLetter());
-
-					// Include anything after the letter
-					for (int col = startCol + 1; col < affectedBoard.length
-							&& affectedBoard[row][col] != null; col++)
-					{
-						// Add to the end of the StringBuilder
-						word.append(affectedBoard[row][col].getLetter());
-						wordScore += board[row][col].getValue();
-					}
-
-					// Calculate total score
-					currentTotal = addTotalScore(bonus, wordScore,
-							word.toString(), totalScore);
-					if (currentTotal == -1)
-						return -1;
-					else if (currentTotal > 0)
-						totalScore = currentTotal;
-				}
-			}
-		}
-
-		// Return the total score for this move
-		return totalScore;
-	}
-
-	/**
-	 * Calculates the amount of bonus points scored for a Tile at the given row
-	 * and column
-	 * 
-	 * @param row the given row
-	 * @param col the given column
-	 * @return a value > 0 if there is no bonus or if the bonus is a DL or TL
-	 *         which represents the total amount of bonus points scored for that
-	 *         piece, a value < 0 if the bonus is a DW or TL
-	 */
-	private int calculateBonus(int row, int col)
-	{
-		// No bonus
-		if (bonuses[row][col] == 0)
-			return movesBoard[row][col].getValue();
-
-		// DL
-		else if (bonuses[row][col] == 1)
-			return movesBoard[row][col].getValue() * 2;
-
-		// TL
-		else if (bonuses[row][col] == 2)
-			return movesBoard[row][col].getValue() * 3;
-
-		// DW
-		else if (bonuses[row][col] == -1)
-			return bonuses[row][col];
-
-		// TW
-		else
-			return bonuses[row][col];
-	}
-
-	/**
-	 * Adds the double or triple word bonus if applicable, then adds the word's
-	 * score to the player's total score
-	 * 
-	 * @param bonus the double or triple word bonus if applicable
-	 * @param wordScore the score of the given word without double/triple
-	 *            bonuses
-	 * @param currentWord the given word
-	 * @param totalScore the total score of the player so far
-	 * @return the new total score of the player, -1 if the given word was
-	 *         invalid, -2 if if the given word did not contain any letters
-	 */
-	private int addTotalScore(int bonus, int wordScore, String currentWord,
-			int totalScore)
-	{
-		// Apply DW or TW bonus if applicable
-		if (bonus == -1)
-			wordScore *= 2;
-		else if (bonus == -2)
-			wordScore *= 3;
-
-		if (currentWord.length() > 0)
-		{
-			// Word is not in the dictionary
-			if (!dictionary.contains(currentWord.toString()))
-			{
-				if (currentTurn == 1)
-					JOptionPane.showMessageDialog(parentFrame, currentWord
-							+ " is not a valid word!", "Invalid Move!",
-							JOptionPane.INFORMATION_MESSAGE);
-				return -1;
-			}
-			// Increase the score
-			else
-				return totalScore + wordScore;
-		}
-		return -2;
-	}
-
 	/**
 	 * Returns active Tiles back to the given Rack
 	 * 
@@ -1279,86 +498,55 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 					movesBoard[row][col] = null;
 				}
 			}
+		movesModel.clear();
 	}
 
 	/**
-	 * Checks if the game has ended (4 passes in a row or one player uses all of
-	 * their Tiles and the Bag is empty) and then determines the winner if the
-	 * game has ended and displays a congratulatory message
+	 * Displays a congratulatory message once the game has ended and changes
+	 * to the end game state. The final scores are worked out by the
+	 * GameEngine.
 	 * 
 	 * @author Jennifer Chan
-	 * @return 0 if the game has not ended yet, -1 if the AI has won, 1 if the
-	 *         player has won or tied
 	 */
-	private int checkWinner()
+	private void showWinner()
 	{
-		// Four passes in a row or the Bag is empty and one of the Racks is
-		// empty
-		if (passCount >= 4
-				|| (myBag.tilesLeft() == 0 && (AIRack.tilesLeft() == 0 || playerRack
-						.tilesLeft() == 0)))
+		// The player's last move ended the game, so there is nothing to
+		// ponder
+		ponderer.stop();
+		gameState = 3;
+
+		// Show the final score
+		this.paintImmediately(0, 0, WIDTH, HEIGHT);
+
+		// Player wins if their score is higher than AI
+		int winner = game.getWinner();
+		if (winner == PLAYER)
 		{
-			// Point values of tiles left on a player's rack are deducted from
-			// their score and added to opposing player's score
-			int playerDeduction = 0;
-			for (int i = 0; i < playerRack.tilesLeft(); i++)
-				playerDeduction += playerRack.getTile(i).getValue();
-			playerScore -= playerDeduction;
-
-			if (AIRack.tilesLeft() == 0)
-				AIScore += playerDeduction;
-
-			int AIDeduction = 0;
-			for (int i = 0; i < AIRack.tilesLeft(); i++)
-				AIDeduction += AIRack.getTile(i).getValue();
-			AIScore -= AIDeduction;
-			if (playerRack.tilesLeft() == 0)
-				playerScore += AIDeduction;
-
-			// Make sure the score is not negative
-			if (playerScore < 0)
-				playerScore = 0;
-
-			// Show the final score
-			this.paintImmediately(0, 0, WIDTH, HEIGHT);
-
-			// Player wins if their score is higher than AI
-			if (playerScore > AIScore)
-			{
-				JOptionPane
-						.showMessageDialog(
-								parentFrame,
-								"Congratulations, you won!\nPress New Game in the Game Menu to play again!",
-								"Game Over", JOptionPane.INFORMATION_MESSAGE);
-				updateHighScore();
-				return 1;
-			}
-			// AI wins
-			else if (playerScore < AIScore)
-			{
-				JOptionPane
-						.showMessageDialog(
-								parentFrame,
-								"AI won!\nPress New Game in the Game Menu to play again!",
-								"Game Over", JOptionPane.INFORMATION_MESSAGE);
-				updateHighScore();
-				return -1;
-			}
-			// Tie
-			else if (AIScore == playerScore)
-			{
-				JOptionPane
-						.showMessageDialog(
-								parentFrame,
-								"You tied!\nPress New Game in the Game Menu to play again!",
-								"Game Over", JOptionPane.INFORMATION_MESSAGE);
-				updateHighScore();
-				return 1;
-			}
+			JOptionPane
+					.showMessageDialog(
+							parentFrame,
+							"Congratulations, you won!\nPress New Game in the Game Menu to play again!",
+							"Game Over", JOptionPane.INFORMATION_MESSAGE);
 		}
-
-		// Game not over
-		return 0;
+		// AI wins
+		else if (winner == AI)
+		{
+			JOptionPane
+					.showMessageDialog(
+							parentFrame,
+							"AI won!\nPress New Game in the Game Menu to play again!",
+							"Game Over", JOptionPane.INFORMATION_MESSAGE);
+		}
+		// Tie
+		else
+		{
+			JOptionPane
+					.showMessageDialog(
+							parentFrame,
+							"You tied!\nPress New Game in the Game Menu to play again!",
+							"Game Over", JOptionPane.INFORMATION_MESSAGE);
+		}
+		updateHighScore();
 	}
 
 	/**
@@ -1369,6 +557,7 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 	 */
 	public void updateHighScore()
 	{
+		int playerScore = game.getScore(PLAYER);
 		if (stats.isHigher(playerScore))
 		{
 			String playerName = JOptionPane
@@ -1400,13 +589,20 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 	{
 		super.paintComponent(g);
 
+		// Keep track of how long it took to show the main menu
+		if (!painted)
+		{
+			painted = true;
+			AssetLoader.logSinceLaunch("First frame");
+		}
+
 		// Draw the main menu
 		if (gameState == 0)
 			g.drawImage(MAIN_MENU, 0, 0, this);
 		// Draw the help images
 		else if (gameState == 1)
 		{
-			g.drawImage(HELP_IMAGES[helpPage], 0, 0, this);
+			g.drawImage(assets.getHelpImage(helpPage), 0, 0, this);
 		}
 		// Draw the game
 		else if (gameState == 2 || gameState == 3)
@@ -1420,7 +616,7 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 			if (gameState == 2)
 			{
 				g.setColor(Color.RED);
-				if (currentTurn == 1)
+				if (game.getCurrentPlayer() == PLAYER)
 				{
 					g.drawString("Your turn", 672, 180);
 				}
@@ -1435,19 +631,21 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 			g.drawString("(" + difficulty + ")", 710, 240);
 
 			// Write the last points gained by the Player and AI
-			g.drawString("Points Gained by Player: " + playerLastScore, 660, 60);
-			g.drawString("Points Gained by AI:         " + AILastScore, 660, 85);
+			g.drawString("Points Gained by Player: " + game.getLastScore(PLAYER),
+					660, 60);
+			g.drawString("Points Gained by AI:         " + game.getLastScore(AI),
+					660, 85);
 
 			// Draw scores
 			g.setFont(new Font("Arial", Font.BOLD, 24));
 			g.setColor(Color.BLACK);
-			g.drawString("" + playerScore, 820, 150);
-			g.drawString("" + AIScore, 820, 245);
+			g.drawString("" + game.getScore(PLAYER), 820, 150);
+			g.drawString("" + game.getScore(AI), 820, 245);
 
 			// Display number of Tiles left in Bag
 			g.setFont(new Font("Arial", Font.BOLD, 20));
 			g.setColor(Color.WHITE);
-			g.drawString("Tiles Left in Bag: " + myBag.tilesLeft(), 700, 670);
+			g.drawString("Tiles Left in Bag: " + game.tilesInBag(), 700, 670);
 
 			// Draw the board with current pieces.
 			for (int row = 0; row < 15; row++)
@@ -1589,7 +787,7 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 		else if (gameState == 2)
 		{
 			// It is the user's turn
-			if (currentTurn == 1)
+			if (game.getCurrentPlayer() == PLAYER)
 			{
 				// User hovering over Exchange, Shuffle, Return, Dictionary,
 				// Play or Pass
@@ -1743,8 +941,8 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 				}
 			}
 		}
-		// User is in game
-		else if (gameState == 2)
+		// User is in game and it is their turn
+		else if (gameState == 2 && game.getCurrentPlayer() == PLAYER)
 		{
 
 			if (selectedTile != null)
@@ -1772,6 +970,7 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 								lastPoint = selectedPoint;
 								selectedTile = nextTile;
 								movesBoard[row][col] = null;
+								movesModel.remove(row, col);
 							}
 						}
 
@@ -1783,7 +982,7 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 					&& selectedPoint.y >= 338 && selectedPoint.y <= 413)
 			{
 				// Exchange tile
-				if (myBag.tilesLeft() >= 7)
+				if (game.tilesInBag() >= GameEngine.MIN_TILES_TO_EXCHANGE)
 				{
 					// Create a panel with check boxes
 					JPanel panel = new JPanel();
@@ -1819,35 +1018,27 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 					// Update tiles if OK is selected
 					if (choice == JOptionPane.OK_OPTION)
 					{
-						boolean selected = false;
-
-						// Start from the last index so that when Tiles are
-						// removed and added, it will not affect indexes of
-						// Tiles before it
-						for (int index = buttonList.length - 1; index >= 0; index--)
+						// Count the letters to exchange
+						int[] letters = new int[BoardModel.BLANK + 1];
+						for (int index = 0; index < buttonList.length; index++)
 						{
 							if (buttonList[index].isSelected())
 							{
 								Tile remove = playerRack.getTile(index);
-								Tile add = myBag.exchange(remove, playerRack);
-								playerRack.removeTile(remove);
-								playerRack.addTile(add);
-								selected = true;
+								if (remove.isBlank())
+									letters[BoardModel.BLANK]++;
+								else
+									letters[remove.getLetter() - 'A']++;
 							}
 						}
 
 						// Change turn
-						if (selected)
+						if (engine.exchange(game, letters))
 						{
-							// Return pieces to Rack
+							// Return pieces to Rack and swap in the new Tiles
 							returnToRack(playerRack);
+							playerRack.match(game.getRackModel(PLAYER));
 
-							// Reset the passCount
-							passCount = 0;
-
-							playerLastScore = 0;
-
-							currentTurn *= -1;
 							AIMove();
 
 						}
@@ -1869,7 +1060,7 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 			else if (selectedPoint.x >= 775 && selectedPoint.x <= 850
 					&& selectedPoint.y >= 338 && selectedPoint.y <= 413)
 			{
-				playerRack.shuffle();
+				playerRack.shuffle(rackRandom);
 			}
 
 			// User presses return button
@@ -1930,36 +1121,19 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 				// Checks if the move is valid
 				int score = makeMove();
 
-				if (score > 0)
+				if (score >= 0)
 				{
-					// Reset the passCount
-					passCount = 0;
-
 					// Refill the player's Rack
-					playerRack.fillRack(myBag);
-					playerLastRackSize = playerRack.tilesLeft();
+					playerRack.match(game.getRackModel(PLAYER));
 
 					// Merge boards
 					mergeBoards();
 
-					// Calculate score
-					playerScore += score;
-					playerLastScore = score;
-					
 					// Check for the winner
-					int winner = checkWinner();
-					if (winner != 0)
-						gameState = 3;
+					if (game.isOver())
+						showWinner();
 					else
-					{
-						currentTurn *= -1;
 						AIMove();
-					}
-
-
-
-				
-
 				}
 				else if (score == -1)
 				{
@@ -2009,6 +1183,7 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 				// The confirm dialog can be used with an if to check
 				// which button was selected on the dialog box
 
+				int passCount = game.getPassCount();
 				if ((passCount < 2 && JOptionPane.showConfirmDialog(
 						parentFrame, "Are you sure you want to pass?", "Pass",
 						JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION)
@@ -2018,15 +1193,15 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 										"Are you sure you want to pass?\nBoth players each passing twice in a row will end the game",
 										"Pass", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION))
 				{
-					passCount++;
+					engine.pass(game);
 					// Return pieces to Rack
 					returnToRack(playerRack);
-					// Change turn
-					currentTurn *= -1;
 
-					playerLastScore = 0;
-
-					AIMove();
+					// Check for the winner, otherwise change turn
+					if (game.isOver())
+						showWinner();
+					else
+						AIMove();
 				}
 
 			}
@@ -2102,4 +1277,70 @@ public class ScrabblePanel extends JPanel implements MouseListener,
 
 		}
 	}
+
+	/**
+	 * Searches for the AI's move on a background thread
+	 */
+	private class AIWorker extends SwingWorker<Move, Void>
+	{
+		private GameState searchState;
+		private Deadline deadline;
+		private Random searchRandom;
+
+		/**
+		 * Constructs an AIWorker
+		 *
+		 * @param searchState a copy of the game
+		 * @param deadline when to stop searching
+		 * @param searchRandom the random numbers for the AI's move
+		 */
+		AIWorker(GameState searchState, Deadline deadline, Random searchRandom)
+		{
+			this.searchState = searchState;
+			this.deadline = deadline;
+			this.searchRandom = searchRandom;
+		}
+
+		/**
+		 * Chooses the AI's move
+		 *
+		 * @return the chosen move, or null if there are no valid moves
+		 */
+		protected Move doInBackground()
+		{
+			return aiPlayer.chooseMove(searchState, deadline, searchRandom);
+		}
+
+		/**
+		 * Makes the chosen move, unless the search was stopped. If the search
+		 * failed, the AI passes.
+		 */
+		protected void done()
+		{
+			if (isCancelled() || aiWorker != this)
+				return;
+			aiWorker = null;
+
+			try
+			{
+				finishAIMove(get());
+			}
+			catch (InterruptedException exp)
+			{
+				Thread.currentThread().interrupt();
+			}
+			catch (ExecutionException exp)
+			{
+				// Tell the player what went wrong and pass, rather than leave
+				// the game stuck on the AI's turn
+				engine.pass(game);
+				JOptionPane.showMessageDialog(parentFrame,
+						"AI could not choose a move and has passed.\n"
+								+ exp.getCause(), "AI Move",
+						JOptionPane.ERROR_MESSAGE);
+				endAITurn();
+				repaint();
+			}
+		}
+	}
 }
@@ -0,0 +1,63 @@
+import java.util.Random;
+
+/**
+ * Works out seeds for the random numbers used in a game from one game seed,
+ * so a game can be played again exactly from its seed. Each part of a game
+ * (the Bag, each player) gets its own stream of random numbers, and games
+ * played at the same time never share a Random. Includes methods to split a
+ * seed into a new seed for each stream and to create the Random for a stream.
+ *
+ * The seeds are mixed the same way as SplittableRandom, so streams with
+ * nearby numbers or from nearby game seeds are not related.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class Seeds
+{
+	// The stream for each part of a game
+	public static final int BAG = 0;
+	public static final int RACK = 1;
+	public static final int FIRST_PLAYER = 2;
+
+	// Odd constant from the golden ratio, used to space out the streams
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * Works out the seed for the given stream of the given seed
+	 *
+	 * @param seed the seed to split
+	 * @param stream the number of the stream
+	 * @return the seed for the stream
+	 */
+	public static long split(long seed, long stream)
+	{
+		return mix(seed + (stream + 1) * GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Creates the Random for the given stream of the given seed
+	 *
+	 * @param seed the game seed
+	 * @param stream the number of the stream
+	 * @return the Random for the stream
+	 */
+	public static Random newRandom(long seed, long stream)
+	{
+		return new Random(split(seed, stream));
+	}
+
+	/**
+	 * Mixes the bits of the given number, so that numbers that are close
+	 * together give results that are far apart
+	 *
+	 * @param value the number to mix
+	 * @return the mixed number
+	 */
+	private static long mix(long value)
+	{
+		value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+		value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+		return value ^ (value >>> 31);
+	}
+}
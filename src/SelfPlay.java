@@ -0,0 +1,424 @@
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command-line tool that plays games between two computer players with the
+ * GameEngine, so changes to the AI can be tested over many games. Games are
+ * played on every core at once. Reports the number of games played each
+ * second, how long the players took to choose their moves, the spread of
+ * their scores, how often each one won and how often the MoveCache they share
+ * saved a search, and writes the result of each game to a CSV file.
+ *
+ * The players take turns going first. A player is Easy or Hard, with the usual
+ * time limit, or Easy:ms or Hard:ms for a different time limit in milliseconds
+ * (0 for no limit). Adding +leaves, such as Hard+leaves, makes Hard play using
+ * the LeaveTable in leaves.dat, adding +sim makes Hard simulate its best moves,
+ * and adding +endgame makes Hard search the endgame. The endgame search only
+ * stops early when it has a time limit. All games share the same search
+ * threads, so a time limit gives each move less searching than it would get in
+ * a game against a person.
+ *
+ * The seed for each game is worked out from the seed for the run, and is
+ * written to the results, so any game can be played again. Games with no time
+ * limits play out exactly the same every time.
+ *
+ * Usage: java SelfPlay [games] [player 1] [player 2] [threads] [results file]
+ * [seed]
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class SelfPlay
+{
+	// Added to a player's name to use the LeaveTable or the Simulator
+	private static final String LEAVES = "leaves";
+	private static final String SIMULATE = "sim";
+	private static final String ENDGAME = "endgame";
+
+	private static ThreadLocal<GameEngine> engines;
+
+	public static void main(String[] args)
+	{
+		int noOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		String firstName = args.length > 1 ? args[1] : AIPlayer.HARD;
+		String secondName = args.length > 2 ? args[2] : AIPlayer.EASY;
+		int noOfThreads = args.length > 3 ? Integer.parseInt(args[3])
+				: Runtime.getRuntime().availableProcessors();
+		String resultsName = args.length > 4 ? args[4] : "selfplay.csv";
+		long runSeed = args.length > 5 ? Long.parseLong(args[5]) : System
+				.nanoTime();
+
+		final Lexicon lexicon;
+		try
+		{
+			lexicon = Lexicon.load("dictionary.dawg", "dictionary.txt");
+		}
+		catch (FileNotFoundException exp)
+		{
+			System.out.println("BAD FILE NAME");
+			return;
+		}
+		engines = new ThreadLocal<GameEngine>()
+		{
+			protected GameEngine initialValue()
+			{
+				return new GameEngine(lexicon);
+			}
+		};
+
+		ParallelMoveGenerator generator = new ParallelMoveGenerator(lexicon,
+				noOfThreads);
+		AnagramIndex anagrams = new AnagramIndex(lexicon, GameEngine.RACK_SIZE);
+		Simulator simulator = new Simulator(lexicon, noOfThreads,
+				Simulator.MAX_ITERATIONS);
+		EndgameSolver solver = new EndgameSolver(lexicon, noOfThreads,
+				EndgameSolver.MAX_DEPTH);
+		AIPlayer[] players = {
+				createPlayer(firstName, generator, anagrams, simulator, solver),
+				createPlayer(secondName, generator, anagrams, simulator, solver) };
+		MoveCache cache = new MoveCache(MoveCache.DEFAULT_SIZE);
+		for (AIPlayer nextPlayer : players)
+			nextPlayer.setMoveCache(cache);
+		System.out.printf(
+				"Playing %d games of %s against %s on %d threads (seed %d)%n",
+				noOfGames, players[0], players[1], noOfThreads, runSeed);
+
+		// Play the games
+		long startTime = System.nanoTime();
+		ExecutorService games = Executors.newFixedThreadPool(noOfThreads);
+		ArrayList<Future<GameResult>> futures = new ArrayList<Future<GameResult>>(
+				noOfGames);
+		for (int gameNo = 0; gameNo < noOfGames; gameNo++)
+			futures.add(games.submit(new GameTask(players, gameNo, Seeds
+					.split(runSeed, gameNo))));
+
+		GameResult[] results = new GameResult[noOfGames];
+		try
+		{
+			for (int gameNo = 0; gameNo < noOfGames; gameNo++)
+				results[gameNo] = futures.get(gameNo).get();
+		}
+		catch (InterruptedException exp)
+		{
+			Thread.currentThread().interrupt();
+			return;
+		}
+		catch (ExecutionException exp)
+		{
+			System.out.println("Game failed: " + exp.getCause());
+			return;
+		}
+		finally
+		{
+			games.shutdownNow();
+		}
+		long totalTime = System.nanoTime() - startTime;
+
+		printReport(players, results, totalTime);
+		System.out.println("Move cache: " + cache);
+		if (simulator.getIterations() > 0)
+			System.out.println("Simulation: " + simulator);
+		if (solver.getEndgames() > 0)
+			System.out.println("Endgames: " + solver);
+		try
+		{
+			writeResults(players, results, resultsName);
+		}
+		catch (FileNotFoundException exp)
+		{
+			System.out.println("BAD FILE NAME");
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * Creates a player from its name
+	 *
+	 * @param name Easy or Hard, followed by :ms for a different time limit,
+	 *            +leaves to use the LeaveTable, +sim to simulate and +endgame
+	 *            to search the endgame
+	 * @param generator the ParallelMoveGenerator to search with
+	 * @param anagrams the index of words for the first move
+	 * @param simulator the Simulator to simulate with
+	 * @param solver the EndgameSolver to search the endgame with
+	 * @return the player
+	 */
+	private static AIPlayer createPlayer(String name,
+			ParallelMoveGenerator generator, AnagramIndex anagrams,
+			Simulator simulator, EndgameSolver solver)
+	{
+		String[] options = name.split("\\+");
+		boolean useLeaves = false;
+		boolean simulate = false;
+		boolean searchEndgame = false;
+		for (int index = 1; index < options.length; index++)
+			if (options[index].equalsIgnoreCase(LEAVES))
+				useLeaves = true;
+			else if (options[index].equalsIgnoreCase(SIMULATE))
+				simulate = true;
+			else if (options[index].equalsIgnoreCase(ENDGAME))
+				searchEndgame = true;
+
+		String[] parts = options[0].split(":");
+		String difficulty = parts[0].equalsIgnoreCase(AIPlayer.EASY)
+				? AIPlayer.EASY : AIPlayer.HARD;
+		AIPlayer player;
+		if (parts.length > 1)
+			player = new AIPlayer(difficulty, Long.parseLong(parts[1]),
+					generator, anagrams);
+		else
+			player = new AIPlayer(difficulty, generator, anagrams);
+
+		if (useLeaves)
+		{
+			LeaveTable leaves = LeaveTable.readFromBinary("leaves.dat");
+			if (leaves == null)
+				System.out.println("BAD FILE NAME");
+			player.setLeaveTable(leaves);
+		}
+		if (simulate)
+			player.setSimulator(simulator);
+		if (searchEndgame)
+			player.setEndgameSolver(solver);
+		return player;
+	}
+
+	/**
+	 * Plays one game between the two players
+	 *
+	 * @param players the two players
+	 * @param gameNo the number of the game, which decides who goes first
+	 * @param seed the seed for the Bag and the players' random moves
+	 * @return the result of the game
+	 */
+	private static GameResult playGame(AIPlayer[] players, int gameNo,
+			long seed)
+	{
+		GameEngine engine = engines.get();
+		GameState state = engine.newGame(seed);
+		Random[] randoms = { Seeds.newRandom(seed, Seeds.FIRST_PLAYER),
+				Seeds.newRandom(seed, Seeds.FIRST_PLAYER + 1) };
+		GameResult result = new GameResult(gameNo, seed);
+
+		// Players take turns going first, so player 1 is in the GameState as
+		// player 0 in even games
+		result.firstPlayer = gameNo % 2;
+		while (!state.isOver())
+		{
+			int player = (state.getCurrentPlayer() + result.firstPlayer) % 2;
+			AIPlayer nextPlayer = players[player];
+
+			long startTime = System.nanoTime();
+			Move move = nextPlayer.chooseMove(state, new Deadline(nextPlayer
+					.getTimeLimit()), randoms[player]);
+			result.moveTimes[player] += System.nanoTime() - startTime;
+			result.moves[player]++;
+
+			// Pass if there are no valid moves
+			int score = move == null ? MoveScorer.NO_TILES : engine.play(
+					state, move);
+			if (score < 0)
+			{
+				engine.pass(state);
+				result.passes[player]++;
+			}
+			else if (move.isExchange())
+				result.exchanges[player]++;
+			result.turns++;
+		}
+
+		for (int player = 0; player < 2; player++)
+			result.scores[player] = state.getScore((player + result.firstPlayer)
+					% 2);
+		return result;
+	}
+
+	/**
+	 * Prints the games played each second, the time taken to choose moves,
+	 * the passes and exchanges made, the spread of scores and how often each
+	 * player won
+	 *
+	 * @param players the two players
+	 * @param results the result of each game
+	 * @param totalTime the time taken to play every game in nanoseconds
+	 */
+	private static void printReport(AIPlayer[] players,
+			GameResult[] results, long totalTime)
+	{
+		int noOfGames = results.length;
+		System.out.printf("%d games in %.1f s (%.2f games/s)%n", noOfGames,
+				totalTime / 1e9, noOfGames / (totalTime / 1e9));
+
+		int[] wins = new int[2];
+		int ties = 0;
+		for (GameResult nextResult : results)
+		{
+			int winner = nextResult.getWinner();
+			if (winner == -1)
+				ties++;
+			else
+				wins[winner]++;
+		}
+
+		for (int player = 0; player < 2; player++)
+		{
+			long moveTime = 0;
+			int moves = 0;
+			int passes = 0;
+			int exchanges = 0;
+			int[] scores = new int[noOfGames];
+			double total = 0;
+			for (int gameNo = 0; gameNo < noOfGames; gameNo++)
+			{
+				moveTime += results[gameNo].moveTimes[player];
+				moves += results[gameNo].moves[player];
+				passes += results[gameNo].passes[player];
+				exchanges += results[gameNo].exchanges[player];
+				scores[gameNo] = results[gameNo].scores[player];
+				total += scores[gameNo];
+			}
+			Arrays.sort(scores);
+			double mean = total / noOfGames;
+			double squares = 0;
+			for (int score : scores)
+				squares += (score - mean) * (score - mean);
+
+			System.out.printf("Player %d (%s): %d wins (%.1f%%)%n",
+					player + 1, players[player], wins[player], 100.0
+							* wins[player] / noOfGames);
+			System.out.printf("  move time: %.2f ms average over %d moves%n",
+					moveTime / 1e6 / Math.max(moves, 1), moves);
+			System.out.printf("  passes: %d, exchanges: %d%n", passes,
+					exchanges);
+			System.out.printf(
+					"  score: mean %.1f, std dev %.1f, min %d, 10%% %d, median %d, 90%% %d, max %d%n",
+					mean, Math.sqrt(squares / noOfGames), scores[0],
+					scores[noOfGames / 10], scores[noOfGames / 2],
+					scores[noOfGames * 9 / 10], scores[noOfGames - 1]);
+		}
+		System.out.printf("Ties: %d (%.1f%%)%n", ties, 100.0 * ties
+				/ noOfGames);
+	}
+
+	/**
+	 * Writes the result of each game to a CSV file
+	 *
+	 * @param players the two players
+	 * @param results the result of each game
+	 * @param fileName the name of the file
+	 * @throws FileNotFoundException if the file can't be written
+	 */
+	private static void writeResults(AIPlayer[] players,
+			GameResult[] results, String fileName)
+			throws FileNotFoundException
+	{
+		PrintWriter fileOut = new PrintWriter(fileName);
+		fileOut.println("game,seed,first player,player 1,player 2,"
+				+ "player 1 score,player 2 score,winner,turns,"
+				+ "player 1 move ms,player 2 move ms");
+		for (GameResult nextResult : results)
+		{
+			fileOut.printf("%d,%d,%d,%s,%s,%d,%d,%d,%d,%.3f,%.3f%n",
+					nextResult.gameNo, nextResult.seed,
+					nextResult.firstPlayer + 1, players[0], players[1],
+					nextResult.scores[0], nextResult.scores[1],
+					nextResult.getWinner() + 1, nextResult.turns,
+					nextResult.moveTimes[0] / 1e6
+							/ Math.max(nextResult.moves[0], 1),
+					nextResult.moveTimes[1] / 1e6
+							/ Math.max(nextResult.moves[1], 1));
+		}
+		fileOut.close();
+		System.out.println("Results written to " + fileName);
+	}
+
+	/**
+	 * Plays one game on a game thread
+	 */
+	private static class GameTask implements Callable<GameResult>
+	{
+		private AIPlayer[] players;
+		private int gameNo;
+		private long seed;
+
+		/**
+		 * Constructs a GameTask
+		 *
+		 * @param players the two players
+		 * @param gameNo the number of the game
+		 * @param seed the seed for the game
+		 */
+		GameTask(AIPlayer[] players, int gameNo, long seed)
+		{
+			this.players = players;
+			this.gameNo = gameNo;
+			this.seed = seed;
+		}
+
+		/**
+		 * Plays the game
+		 *
+		 * @return the result of the game
+		 */
+		public GameResult call()
+		{
+			return playGame(players, gameNo, seed);
+		}
+	}
+
+	/**
+	 * The result of one game, with everything indexed by player (0 for
+	 * player 1, 1 for player 2)
+	 */
+	private static class GameResult
+	{
+		private int gameNo;
+		private long seed;
+		private int firstPlayer;
+		private int[] scores;
+		private long[] moveTimes;
+		private int[] moves;
+		private int[] passes;
+		private int[] exchanges;
+		private int turns;
+
+		/**
+		 * Constructs the result of a game that has not been played yet
+		 *
+		 * @param gameNo the number of the game
+		 * @param seed the seed for the game
+		 */
+		GameResult(int gameNo, long seed)
+		{
+			this.gameNo = gameNo;
+			this.seed = seed;
+			scores = new int[2];
+			moveTimes = new long[2];
+			moves = new int[2];
+			passes = new int[2];
+			exchanges = new int[2];
+		}
+
+		/**
+		 * Finds the player with the higher score
+		 *
+		 * @return the player with the higher score (0 or 1), or -1 for a tie
+		 */
+		int getWinner()
+		{
+			if (scores[0] > scores[1])
+				return 0;
+			if (scores[1] > scores[0])
+				return 1;
+			return -1;
+		}
+	}
+}
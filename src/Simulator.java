@@ -0,0 +1,357 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses between the best few moves by playing them out against guesses of
+ * the other player's Rack (Monte Carlo simulation). Includes methods to
+ * choose a move, to count the iterations played, to find the number of
+ * iterations played each second, and to return these as a String.
+ *
+ * Each iteration deals the other player a Rack from the Tiles the current
+ * player hasn't seen, using the same letters as the Bag. Then every
+ * candidate move is played, the player draws from the Bag, and the other
+ * player makes their best reply. A candidate is worth its score, plus the
+ * value of the Tiles it keeps, minus the score and leave of the reply. Every
+ * candidate is tried with the same guessed Rack and the same draw in an
+ * iteration, so the differences between them are not down to luck. The move
+ * with the best average wins.
+ *
+ * The iterations are shared out between the threads until the Deadline or
+ * the most iterations allowed. Each iteration has its own seed, so a search
+ * with no time limit chooses the same move on any number of threads.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class Simulator
+{
+	// Number of the best moves to choose between
+	public static final int TOP_MOVES = 10;
+
+	// Most iterations for each move, which limits a search with no time limit
+	public static final int MAX_ITERATIONS = 100;
+
+	private ExecutorService pool;
+	private int parallelism;
+	private int maxIterations;
+	private ThreadLocal<GameEngine> engines;
+	private ThreadLocal<MoveGenerator> generators;
+
+	private long iterations;
+	private long searchTime;
+
+	/**
+	 * Constructs a Simulator
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 * @param parallelism the number of threads to play iterations on
+	 * @param maxIterations the most iterations for each move
+	 */
+	public Simulator(Lexicon lexicon, int parallelism, int maxIterations)
+	{
+		this(lexicon, parallelism, maxIterations, Thread.NORM_PRIORITY);
+	}
+
+	/**
+	 * Constructs a Simulator whose threads have the given priority
+	 *
+	 * @param lexicon the Lexicon to check words with
+	 * @param parallelism the number of threads to play iterations on
+	 * @param maxIterations the most iterations for each move
+	 * @param priority the priority of the threads
+	 */
+	public Simulator(final Lexicon lexicon, int parallelism,
+			int maxIterations, final int priority)
+	{
+		this.parallelism = parallelism;
+		this.maxIterations = maxIterations;
+
+		// The threads shouldn't keep the program running once it is done
+		pool = Executors.newFixedThreadPool(parallelism, new ThreadFactory()
+		{
+			public Thread newThread(Runnable task)
+			{
+				Thread thread = new Thread(task, "Simulator");
+				thread.setDaemon(true);
+				thread.setPriority(priority);
+				return thread;
+			}
+		});
+		engines = new ThreadLocal<GameEngine>()
+		{
+			protected GameEngine initialValue()
+			{
+				return new GameEngine(lexicon);
+			}
+		};
+		generators = new ThreadLocal<MoveGenerator>()
+		{
+			protected MoveGenerator initialValue()
+			{
+				return new MoveGenerator(lexicon);
+			}
+		};
+	}
+
+	/**
+	 * Chooses the move for the player whose turn it is by simulating the best
+	 * few moves
+	 *
+	 * @param state the game, which is not changed
+	 * @param moves the valid moves for the player
+	 * @param leaves the values of the Tiles kept, or null to only count
+	 *            scores
+	 * @param deadline when to stop simulating
+	 * @param random the random numbers for the guessed Racks and draws
+	 * @return the move with the best average, or null if there are no moves
+	 */
+	public Move chooseMove(final GameState state, ArrayList<Move> moves,
+			final LeaveTable leaves, final Deadline deadline, Random random)
+	{
+		final ArrayList<Move> candidates = findCandidates(moves,
+				state.getRackModel(state.getCurrentPlayer()), leaves);
+		if (candidates.size() <= 1)
+			return candidates.isEmpty() ? null : candidates.get(0);
+
+		// Each thread takes the next iteration until time is up
+		long startTime = System.nanoTime();
+		final long seed = random.nextLong();
+		final AtomicInteger nextIteration = new AtomicInteger();
+		Callable<long[]> task = new Callable<long[]>()
+		{
+			public long[] call()
+			{
+				return simulate(state, candidates, leaves, seed,
+						nextIteration, deadline);
+			}
+		};
+		ArrayList<Future<long[]>> results = new ArrayList<Future<long[]>>();
+		for (int threadNo = 1; threadNo < parallelism; threadNo++)
+			results.add(pool.submit(task));
+
+		// This thread plays iterations too, rather than just waiting
+		long[] totals = simulate(state, candidates, leaves, seed,
+				nextIteration, deadline);
+		try
+		{
+			for (Future<long[]> nextResult : results)
+			{
+				long[] threadTotals = nextResult.get();
+				for (int index = 0; index < totals.length; index++)
+					totals[index] += threadTotals[index];
+			}
+		}
+		catch (InterruptedException exp)
+		{
+			// Stop handing out iterations and use the best move so far
+			nextIteration.set(maxIterations);
+			Thread.currentThread().interrupt();
+			return candidates.get(0);
+		}
+		catch (ExecutionException exp)
+		{
+			throw new RuntimeException(exp.getCause());
+		}
+
+		// The last total is the number of iterations played
+		int noOfCandidates = candidates.size();
+		synchronized (this)
+		{
+			iterations += totals[noOfCandidates];
+			searchTime += System.nanoTime() - startTime;
+		}
+
+		// The first candidate has the best equity before simulating, so it is
+		// chosen if there was no time for any iterations
+		int best = 0;
+		for (int index = 1; index < noOfCandidates; index++)
+			if (totals[index] > totals[best])
+				best = index;
+		return candidates.get(best);
+	}
+
+	/**
+	 * Counts the iterations played
+	 *
+	 * @return the number of iterations played
+	 */
+	public synchronized long getIterations()
+	{
+		return iterations;
+	}
+
+	/**
+	 * Finds how many iterations are played each second while choosing a move
+	 *
+	 * @return the number of iterations played each second
+	 */
+	public synchronized double getIterationsPerSecond()
+	{
+		if (searchTime == 0)
+			return 0;
+		return iterations / (searchTime / 1e9);
+	}
+
+	/**
+	 * Returns a String representation of the Simulator
+	 *
+	 * @return the number of iterations played and the number each second
+	 */
+	public String toString()
+	{
+		return String.format("%d iterations (%.1f iterations/s)",
+				getIterations(), getIterationsPerSecond());
+	}
+
+	/**
+	 * Finds the moves with the best equity before simulating
+	 *
+	 * @param moves the valid moves
+	 * @param rack the Rack the moves are made from
+	 * @param leaves the values of the Tiles kept, or null to only count
+	 *            scores
+	 * @return the best moves, best first, with moves of the same equity in
+	 *         the order they were found
+	 */
+	private ArrayList<Move> findCandidates(ArrayList<Move> moves,
+			final RackModel rack, final LeaveTable leaves)
+	{
+		ArrayList<Move> candidates = new ArrayList<Move>(moves);
+		Collections.sort(candidates, new Comparator<Move>()
+		{
+			public int compare(Move first, Move second)
+			{
+				return Double.compare(getEquity(second, rack, leaves),
+						getEquity(first, rack, leaves));
+			}
+		});
+		if (candidates.size() > TOP_MOVES)
+			return new ArrayList<Move>(candidates.subList(0, TOP_MOVES));
+		return candidates;
+	}
+
+	/**
+	 * Plays iterations until there are none left or time is up
+	 *
+	 * @param state the game
+	 * @param candidates the moves to choose between
+	 * @param leaves the values of the Tiles kept, or null to only count
+	 *            scores
+	 * @param seed the seed for the search
+	 * @param nextIteration the number of the next iteration to play
+	 * @param deadline when to stop
+	 * @return the total of each candidate in hundredths of a point, then the
+	 *         number of iterations played
+	 */
+	private long[] simulate(GameState state, ArrayList<Move> candidates,
+			LeaveTable leaves, long seed, AtomicInteger nextIteration,
+			Deadline deadline)
+	{
+		GameEngine engine = engines.get();
+		MoveGenerator generator = generators.get();
+		int noOfCandidates = candidates.size();
+		int player = state.getCurrentPlayer();
+		int opponent = (player + 1) % GameState.PLAYERS;
+		RackModel rack = state.getRackModel(player);
+
+		long[] totals = new long[noOfCandidates + 1];
+		long[] values = new long[noOfCandidates];
+		while (!deadline.isOver())
+		{
+			int iteration = nextIteration.getAndIncrement();
+			if (iteration >= maxIterations)
+				break;
+			long iterationSeed = Seeds.split(seed, iteration);
+
+			// Guess the other player's Rack
+			GameState guess = new GameState(state, Seeds.newRandom(
+					iterationSeed, Seeds.BAG));
+			engine.dealNewRack(guess, opponent);
+
+			// Try each candidate with the same draw. An iteration cut short
+			// by the Deadline is not counted.
+			int index;
+			for (index = 0; index < noOfCandidates && !deadline.isOver(); index++)
+			{
+				GameState trial = new GameState(guess, Seeds.newRandom(
+						iterationSeed, Seeds.RACK));
+				values[index] = Math.round(playOut(trial, candidates
+						.get(index), rack, leaves, engine, generator) * 100);
+			}
+			if (index < noOfCandidates)
+				break;
+
+			for (index = 0; index < noOfCandidates; index++)
+				totals[index] += values[index];
+			totals[noOfCandidates]++;
+		}
+		return totals;
+	}
+
+	/**
+	 * Plays the given move and the other player's best reply
+	 *
+	 * @param trial a copy of the game to play in, with the other player's
+	 *            Rack guessed
+	 * @param move the move to play
+	 * @param rack the Rack the move is made from
+	 * @param leaves the values of the Tiles kept, or null to only count
+	 *            scores
+	 * @param engine the GameEngine for this thread
+	 * @param generator the MoveGenerator for this thread
+	 * @return the equity of the move less the equity of the reply, in points
+	 */
+	private static double playOut(GameState trial, Move move, RackModel rack,
+			LeaveTable leaves, GameEngine engine, MoveGenerator generator)
+	{
+		int player = trial.getCurrentPlayer();
+		int opponent = (player + 1) % GameState.PLAYERS;
+		int lead = trial.getScore(player) - trial.getScore(opponent);
+		double value = getEquity(move, rack, leaves);
+		if (engine.play(trial, move) < 0)
+			return 0;
+
+		// Going out ends the game, and the Racks left are counted
+		if (trial.isOver())
+			return trial.getScore(player) - trial.getScore(opponent) - lead;
+
+		RackModel replyRack = trial.getRackModel(opponent);
+		ArrayList<Move> replies = generator.generate(trial.getBoard(),
+				trial.getCrossChecks(), replyRack.getCounts());
+		Move reply;
+		if (leaves == null)
+			reply = MoveGenerator.findBest(replies);
+		else
+			reply = leaves.findBest(replies, replyRack);
+		if (reply != null)
+			value -= getEquity(reply, replyRack, leaves);
+		return value;
+	}
+
+	/**
+	 * Finds the equity of the given move
+	 *
+	 * @param move the move
+	 * @param rack the Rack the move is made from
+	 * @param leaves the values of the Tiles kept, or null to only count
+	 *            scores
+	 * @return the score of the move, plus the value of its leave if there is
+	 *         a LeaveTable
+	 */
+	private static double getEquity(Move move, RackModel rack,
+			LeaveTable leaves)
+	{
+		if (leaves == null)
+			return move.getScore();
+		return leaves.getEquity(move, rack);
+	}
+}
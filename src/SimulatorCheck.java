@@ -0,0 +1,94 @@
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Command-line check that the Simulator chooses the same move on any number
+ * of threads when it has no time limit. Hard plays itself to get positions
+ * from real games, and at each position one Simulator with a single thread
+ * and one with the given number of threads choose from the same moves with
+ * the same random numbers.
+ *
+ * Prints the moves chosen at each position, and exits with status 1 if the
+ * two Simulators ever chose differently.
+ *
+ * Usage: java SimulatorCheck [positions] [threads] [seed]
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class SimulatorCheck
+{
+	// Turns to play between positions checked
+	private static final int TURNS_BETWEEN = 5;
+
+	// Iterations for each move, fewer than in a game so the check is quick
+	private static final int ITERATIONS = 20;
+
+	public static void main(String[] args)
+	{
+		int noOfPositions = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		int noOfThreads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+		long runSeed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+
+		Lexicon lexicon;
+		try
+		{
+			lexicon = Lexicon.load("dictionary.dawg", "dictionary.txt");
+		}
+		catch (FileNotFoundException exp)
+		{
+			System.out.println("BAD FILE NAME");
+			return;
+		}
+		GameEngine engine = new GameEngine(lexicon);
+		MoveGenerator generator = new MoveGenerator(lexicon);
+		AIPlayer player = new AIPlayer(AIPlayer.HARD, 0,
+				new ParallelMoveGenerator(lexicon, 1), new AnagramIndex(
+						lexicon, GameEngine.RACK_SIZE));
+		Simulator single = new Simulator(lexicon, 1, ITERATIONS);
+		Simulator parallel = new Simulator(lexicon, noOfThreads, ITERATIONS);
+
+		int noOfFailures = 0;
+		int positionNo = 0;
+		for (int gameNo = 0; positionNo < noOfPositions; gameNo++)
+		{
+			long seed = Seeds.split(runSeed, gameNo);
+			GameState state = engine.newGame(seed);
+			Random random = Seeds.newRandom(seed, Seeds.FIRST_PLAYER);
+			int turn = 0;
+			while (!state.isOver() && positionNo < noOfPositions)
+			{
+				turn++;
+				Move move = player.chooseMove(state, new Deadline(0), random);
+				if (move == null || engine.play(state, move) < 0)
+					engine.pass(state);
+
+				if (turn % TURNS_BETWEEN == 0 && !state.isOver()
+						&& state.tilesInBag() > 0)
+				{
+					ArrayList<Move> moves = generator.generate(state
+							.getBoard(), state.getCrossChecks(), state
+							.getRack(state.getCurrentPlayer()));
+					long searchSeed = Seeds.split(seed, turn);
+					Move singleMove = single.chooseMove(state, moves, null,
+							new Deadline(0), new Random(searchSeed));
+					Move parallelMove = parallel.chooseMove(state, moves,
+							null, new Deadline(0), new Random(searchSeed));
+					boolean same = singleMove == parallelMove;
+					if (!same)
+						noOfFailures++;
+					System.out.printf("Game %d turn %d: %s on 1 thread, %s on "
+							+ "%d%s%n", gameNo, turn, singleMove,
+							parallelMove, noOfThreads, same ? "" : " FAILED");
+					positionNo++;
+				}
+			}
+		}
+
+		System.out.printf("%d positions checked, %d failures%n",
+				noOfPositions, noOfFailures);
+		if (noOfFailures > 0)
+			System.exit(1);
+	}
+}
@@ -17,9 +17,10 @@ import javax.swing.ImageIcon;
  */
 public class Tile extends Rectangle
 {
+	private static final Image[] IMAGES = new Image[27];
 	private int value;
 	private char letter;
-	Image image;
+	private int imageIndex;
 
 	/**
 	 * Constructs a Tile object
@@ -31,7 +32,7 @@ public class Tile extends Rectangle
 	 */
 	public Tile(Point position, char letter, int value)
 	{
-		image = new ImageIcon("images\\" + letter + ".png").getImage();
+		imageIndex = letter - 'A';
 		this.letter = letter;
 		this.value = value;
 		this.x = position.x;
@@ -40,6 +41,31 @@ public class Tile extends Rectangle
 		this.height = 40;
 	}
 
+	/**
+	 * Loads the images for all Tiles, so they are ready before the first Tile
+	 * is drawn
+	 */
+	public static void loadImages()
+	{
+		for (int index = 0; index < IMAGES.length; index++)
+			getImage(index);
+	}
+
+	/**
+	 * Gets the image for the given letter, loading it the first time it is
+	 * needed
+	 * 
+	 * @param index 0-25 for A-Z, 26 for a blank Tile
+	 * @return the image for the letter
+	 */
+	private static synchronized Image getImage(int index)
+	{
+		if (IMAGES[index] == null)
+			IMAGES[index] = new ImageIcon("images\\" + (char) ('A' + index)
+					+ ".png").getImage();
+		return IMAGES[index];
+	}
+
 	/**
 	 * Gets the letter of this Tile
 	 * 
@@ -90,7 +116,7 @@ public class Tile extends Rectangle
 	 */
 	public void draw(Graphics g)
 	{
-		g.drawImage(image, x, y, null);
+		g.drawImage(getImage(imageIndex), x, y, null);
 	}
 
 	/**
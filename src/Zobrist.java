@@ -0,0 +1,73 @@
+/**
+ * Keeps the random 64-bit numbers used to hash boards and Racks (Zobrist
+ * hashing), so a position can be looked up in a cache without comparing
+ * every square. Includes methods to get the number for a letter on a square
+ * and for a count of a letter in a Rack.
+ *
+ * A hash is all the numbers for what is in the position XORed together, so
+ * placing or removing a Tile just XORs one number in or out, and the same
+ * position always has the same hash however it was reached. The numbers come
+ * from a fixed seed, so hashes are the same in every run and can be written
+ * to game logs.
+ *
+ * @author Jennifer Chan and Jessica Jiang
+ * @version 18 October 2026
+ */
+public class Zobrist
+{
+	// Added to the hash of a game when it is the second player's turn
+	public static final long SECOND_PLAYER;
+
+	private static final int LETTERS = BoardModel.BLANK + 1;
+	private static final long SEED = 0x5a6f62726973744cL;
+
+	// The number for each letter (0-25), as a normal Tile or a blank, on each
+	// square, indexed by (square * 26 + letter) * 2 + 1 if it is a blank
+	private static final long[] SQUARE_KEYS = new long[BoardModel.SQUARES
+			* BoardModel.BLANK * 2];
+
+	// The number for each count of each letter (0-25 for A-Z, 26 for blanks)
+	// in a Rack, indexed by letter * 8 + count. A count of 0 is 0, so an empty
+	// Rack hashes to 0.
+	private static final long[] TILE_KEYS = new long[LETTERS
+			* (RackModel.MAX_TILES + 1)];
+
+	static
+	{
+		long stream = 0;
+		for (int index = 0; index < SQUARE_KEYS.length; index++)
+			SQUARE_KEYS[index] = Seeds.split(SEED, stream++);
+		for (int letter = 0; letter < LETTERS; letter++)
+			for (int count = 1; count <= RackModel.MAX_TILES; count++)
+				TILE_KEYS[letter * (RackModel.MAX_TILES + 1) + count] = Seeds
+						.split(SEED, stream++);
+		SECOND_PLAYER = Seeds.split(SEED, stream);
+	}
+
+	/**
+	 * Gets the number for a letter on a square
+	 *
+	 * @param square the square (row * 15 + column)
+	 * @param letter the letter (0 - 25)
+	 * @param isBlank true if the Tile is a blank
+	 * @return the number to XOR into the board's hash
+	 */
+	public static long getSquareKey(int square, int letter, boolean isBlank)
+	{
+		return SQUARE_KEYS[(square * BoardModel.BLANK + letter) * 2
+				+ (isBlank ? 1 : 0)];
+	}
+
+	/**
+	 * Gets the number for a count of a letter in a Rack
+	 *
+	 * @param letter the letter (0-25 for A-Z, 26 for blanks)
+	 * @param count the number of Tiles of the letter, up to 7
+	 * @return the number to XOR into the Rack's hash, which is 0 for a count
+	 *         of 0
+	 */
+	public static long getTileKey(int letter, int count)
+	{
+		return TILE_KEYS[letter * (RackModel.MAX_TILES + 1) + count];
+	}
+}